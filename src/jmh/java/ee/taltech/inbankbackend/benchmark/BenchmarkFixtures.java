@@ -0,0 +1,25 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.time.Clock;
+
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+import ee.taltech.inbankbackend.service.DecisionEngines;
+
+/**
+ * Builds the decision components the same way Spring wires them, without starting a context.
+ */
+final class BenchmarkFixtures {
+
+    static final String DEBTOR_PERSONAL_CODE = "37605030299";
+    static final String SEGMENT_1_PERSONAL_CODE = "50307172740";
+    static final String SEGMENT_2_PERSONAL_CODE = "38411266610";
+    static final String SEGMENT_3_PERSONAL_CODE = "49001019127";
+
+    private BenchmarkFixtures() {
+    }
+
+    static DecisionEngineService decisionEngine() {
+        return DecisionEngines.standalone(DecisionPolicy.defaults(), Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,64 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DecisionEngineService#calculateApprovedLoan} for approved, rejected and debt applicants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecisionEngineBenchmark {
+
+    private DecisionEngineService decisionEngine;
+
+    @Setup
+    public void setUp() {
+        decisionEngine = BenchmarkFixtures.decisionEngine();
+    }
+
+    @Benchmark
+    public DecisionDTO approved() {
+        return decisionEngine.calculateApprovedLoan(BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE, 4000L, 12);
+    }
+
+    @Benchmark
+    public DecisionDTO approvedWithExtendedPeriod() {
+        return decisionEngine.calculateApprovedLoan(BenchmarkFixtures.SEGMENT_1_PERSONAL_CODE, 4000L, 12);
+    }
+
+    @Benchmark
+    public Object rejected() {
+        try {
+            return decisionEngine.calculateApprovedLoan(BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE, 1000L, 12);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object debt() {
+        try {
+            return decisionEngine.calculateApprovedLoan(BenchmarkFixtures.DEBTOR_PERSONAL_CODE, 4000L, 12);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.core.joran.spi.JoranException;
+import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares decision throughput with the old synchronous println tracing against the async audit log,
+ * both enabled and disabled, on several threads so stdout lock contention shows up.
+ *
+ * Both variants write into a discarding sink, so the difference is the cost of producing the output on
+ * the request thread rather than the speed of the terminal. Logging is configured from
+ * {@code logback-spring.xml}, as Spring Boot does, so the audit log goes through the production appender
+ * rather than logback's synchronous default. The tear-down reports how many decisions were written, so a
+ * variant cannot look fast by dropping output.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class DecisionLoggingBenchmark {
+
+    @Param({"println", "audit-info", "audit-off"})
+    public String logging;
+
+    private DecisionEngineService decisionEngine;
+    private PrintStream originalOut;
+    private Level originalLevel;
+    private final LongAdder decisions = new LongAdder();
+    private final LineCounter written = new LineCounter();
+
+    @Setup
+    public void setUp() throws JoranException {
+        decisionEngine = BenchmarkFixtures.decisionEngine();
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(written, true));
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(DecisionLoggingBenchmark.class.getResource("/logback-spring.xml"));
+
+        Logger auditLogger = (Logger) LoggerFactory.getLogger("decision.audit");
+        originalLevel = auditLogger.getLevel();
+        auditLogger.setLevel("audit-info".equals(logging) ? Level.INFO : Level.OFF);
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Stopping the context drains the audit queue into the sink
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        if (!"audit-off".equals(logging)) {
+            long lines = written.lines() / ("println".equals(logging) ? 6 : 1);
+            originalOut.printf("%n%s: %d of %d decisions written (%.1f%%)%n", logging, lines, decisions.sum(),
+                    100.0 * lines / decisions.sum());
+        }
+        System.setOut(originalOut);
+        ((Logger) LoggerFactory.getLogger("decision.audit")).setLevel(originalLevel);
+    }
+
+    @Benchmark
+    public DecisionDTO decision() {
+        String personalCode = BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE;
+        Long loanAmount = 4000L;
+        int loanPeriod = 12;
+
+        if ("println".equals(logging)) {
+            // The tracing the decision path did before the audit log replaced it
+            System.out.println("personalCode: " + personalCode + ", loanAmount: " + loanAmount
+                    + ", loanPeriod: " + loanPeriod);
+            System.out.println("Applicant age: " + 41 + " years old");
+            System.out.println("segment: " + 6610);
+            System.out.println("creditModifier: " + 300);
+        }
+        DecisionDTO decision = decisionEngine.calculateApprovedLoan(personalCode, loanAmount, loanPeriod);
+        decisions.increment();
+        if ("println".equals(logging)) {
+            System.out.println("creditModifier: " + 300 + ", amount: " + decision.getLoanAmount()
+                    + ", period: " + decision.getLoanPeriod());
+            System.out.println("isApproved: " + true);
+        }
+        return decision;
+    }
+
+    /**
+     * Writes the output to {@code /dev/null}, one system call per write like the real, auto-flushing
+     * stdout, and counts its lines, so dropped audit events show up.
+     */
+    private static final class LineCounter extends OutputStream {
+
+        private final FileOutputStream sink;
+
+        // PrintStream serializes the writes, so only visibility to the tear-down thread is needed
+        private volatile long lines;
+
+        private LineCounter() {
+            try {
+                sink = new FileOutputStream("/dev/null");
+            } catch (FileNotFoundException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            sink.write(b);
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            sink.write(bytes, offset, length);
+            long newLines = 0;
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') {
+                    newLines++;
+                }
+            }
+            lines += newLines;
+        }
+
+        long lines() {
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+import ee.taltech.inbankbackend.service.CreditModifierService;
+import ee.taltech.inbankbackend.validator.AgeEligibility;
+import ee.taltech.inbankbackend.validator.LoanInputValidator;
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures personal code parsing, input validation and the credit modifier lookup on their own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputBenchmark {
+
+    private final DecisionPolicyStore policyStore = new DecisionPolicyStore(DecisionPolicy.defaults());
+    private final LoanInputValidator validator = new LoanInputValidator(policyStore,
+            new AgeEligibility(Clock.systemDefaultZone(), policyStore));
+    private final CreditModifierService creditModifierService = new CreditModifierService(policyStore);
+
+    @Benchmark
+    public void parsePersonalCode(Blackhole blackhole) {
+        blackhole.consume(ParsedPersonalCode.parse(BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE));
+    }
+
+    @Benchmark
+    public void verifyInputs() {
+        validator.verifyInputs(BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE, 4000L, 12);
+    }
+
+    @Benchmark
+    public void getCreditModifier(Blackhole blackhole) {
+        blackhole.consume(creditModifierService.getCreditModifier(BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE));
+    }
+}
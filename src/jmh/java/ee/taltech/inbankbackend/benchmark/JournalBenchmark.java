@@ -0,0 +1,80 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import ee.taltech.inbankbackend.journal.JournalRecord;
+import ee.taltech.inbankbackend.journal.JournalSegmentWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many decision records per second the journal writer sustains when it forces records to
+ * disk after every {@code syncBatch} records. A batch of 1 is the cost of syncing every decision; the
+ * service syncs every 1024 records or 100 ms, whichever comes first.
+ *
+ * Every iteration writes to a fresh directory that is deleted afterwards, so the segments written stay
+ * within the disk space of one iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    @Param({"1", "64", "1024"})
+    private int syncBatch;
+
+    private final ByteBuffer record = ByteBuffer.allocate(JournalRecord.SIZE);
+    private Path directory;
+    private JournalSegmentWriter writer;
+    private int unsynced;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        writer = new JournalSegmentWriter(directory, 64L * 1024 * 1024, Clock.systemUTC());
+        unsynced = 0;
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        // The sequence is the only field the writer checks; the rest of the record stays as it is
+        record.putLong(0, writer.nextSequence());
+        writer.append(record, 0);
+        if (++unsynced == syncBatch) {
+            writer.sync();
+            unsynced = 0;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        writer.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
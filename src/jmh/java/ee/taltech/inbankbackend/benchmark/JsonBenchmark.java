@@ -0,0 +1,56 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures JSON (de)serialization of the decision request and response bodies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] requestBody;
+    private DecisionResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        requestBody = "{\"personalCode\":\"38411266610\",\"loanAmount\":4000,\"loanPeriod\":12}"
+                .getBytes(StandardCharsets.UTF_8);
+        response = new DecisionResponseDTO();
+        response.setLoanAmount(3600);
+        response.setLoanPeriod(12);
+    }
+
+    @Benchmark
+    public DecisionRequestDTO readRequest() throws IOException {
+        return objectMapper.readValue(requestBody, DecisionRequestDTO.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
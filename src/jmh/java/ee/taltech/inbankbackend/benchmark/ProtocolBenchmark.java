@@ -0,0 +1,65 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ee.taltech.inbankbackend.controller.DecisionBinaryMessageConverter;
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the per-request cost of the JSON and binary decision formats: reading one request body and
+ * writing one approval, as the controller does. With the gc profiler the report also shows the bytes each
+ * format allocates per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProtocolBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] jsonRequest;
+    private byte[] binaryRequest;
+    private DecisionResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        DecisionRequestDTO request = new DecisionRequestDTO(BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE, 4000L, 12);
+        jsonRequest = ("{\"personalCode\":\"" + request.getPersonalCode() + "\",\"loanAmount\":4000,\"loanPeriod\":12}")
+                .getBytes(StandardCharsets.UTF_8);
+        binaryRequest = DecisionBinaryMessageConverter.writeRequest(request);
+        response = new DecisionResponseDTO();
+        response.setLoanAmount(3600);
+        response.setLoanPeriod(12);
+    }
+
+    @Benchmark
+    public void json(Blackhole blackhole) throws IOException {
+        blackhole.consume(objectMapper.readValue(jsonRequest, DecisionRequestDTO.class));
+        blackhole.consume(objectMapper.writeValueAsBytes(response));
+    }
+
+    @Benchmark
+    public void binary(Blackhole blackhole) {
+        blackhole.consume(DecisionBinaryMessageConverter.readRequest(binaryRequest));
+        blackhole.consume(DecisionBinaryMessageConverter.writeResponse(response));
+    }
+}
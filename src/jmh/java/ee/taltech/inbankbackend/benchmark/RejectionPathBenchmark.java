@@ -0,0 +1,70 @@
+package ee.taltech.inbankbackend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares throughput of thrown rejections against returned rejections on a rejection-heavy mix:
+ * four in five requests are rejected for debt, an invalid amount or period, or an invalid personal code.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RejectionPathBenchmark {
+
+    private static final String[] PERSONAL_CODES = {
+        BenchmarkFixtures.DEBTOR_PERSONAL_CODE,
+        BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE,
+        BenchmarkFixtures.SEGMENT_2_PERSONAL_CODE,
+        "12345678901",
+        BenchmarkFixtures.SEGMENT_3_PERSONAL_CODE
+    };
+    private static final long[] LOAN_AMOUNTS = {4000L, 1000L, 4000L, 4000L, 4000L};
+    private static final int[] LOAN_PERIODS = {12, 12, 61, 12, 12};
+
+    private DecisionEngineService decisionEngine;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        decisionEngine = BenchmarkFixtures.decisionEngine();
+    }
+
+    @Benchmark
+    public Object thrownRejections() {
+        int i = nextIndex();
+        try {
+            return decisionEngine.calculateApprovedLoan(PERSONAL_CODES[i], LOAN_AMOUNTS[i], LOAN_PERIODS[i]);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public DecisionResult returnedRejections() {
+        int i = nextIndex();
+        return decisionEngine.evaluate(PERSONAL_CODES[i], LOAN_AMOUNTS[i], LOAN_PERIODS[i]);
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = i + 1 == PERSONAL_CODES.length ? 0 : i + 1;
+        return i;
+    }
+}
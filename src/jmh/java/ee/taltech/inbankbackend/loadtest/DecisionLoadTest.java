@@ -0,0 +1,254 @@
+package ee.taltech.inbankbackend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop HTTP load generator for {@code POST /loan/decision}.
+ *
+ * Each of {@code --concurrency} client threads sends the next request as soon as the previous one is
+ * answered, for {@code --duration} seconds. Requests cycle through approved, debt and invalid applicants.
+ * Throughput, status codes, latency percentiles and the server's thread counts are printed at the end.
+ * With {@code --compare-url} the same load is then run against a second server, so two builds, such as
+ * the servlet and the reactive one, can be compared side by side.
+ *
+ * Every thread is its own client with its own {@code X-Api-Client} id, unless {@code --client-id} names one
+ * for all of them, so the per-client rate limit, once turned on with {@code decision.rate-limit.enabled},
+ * applies to each thread separately when the server trusts the load test's address with
+ * {@code decision.rate-limit.trusted-addresses}.
+ *
+ * With {@code --abusers} the load is first run alone, at {@code --rate} requests per second per thread,
+ * and then again while that many more threads flood the server as one single client. Comparing the
+ * latency of the well-behaved clients in both runs shows what the abuse costs them.
+ *
+ * <pre>
+ * gradle loadTest --args="--url=http://localhost:8080 --concurrency=1000 --duration=30"
+ * gradle loadTest --args="--url=http://localhost:8080 --compare-url=http://localhost:8081 --duration=30"
+ * gradle loadTest --args="--url=http://localhost:8080 --concurrency=50 --rate=20 --abusers=200 --duration=30"
+ * </pre>
+ */
+public class DecisionLoadTest {
+
+    private static final String[] BODIES = {
+        "{\"personalCode\":\"38411266610\",\"loanAmount\":4000,\"loanPeriod\":12}",
+        "{\"personalCode\":\"50307172740\",\"loanAmount\":4000,\"loanPeriod\":12}",
+        "{\"personalCode\":\"49001019127\",\"loanAmount\":9000,\"loanPeriod\":24}",
+        "{\"personalCode\":\"37605030299\",\"loanAmount\":4000,\"loanPeriod\":12}",
+        "{\"personalCode\":\"12345678901\",\"loanAmount\":4000,\"loanPeriod\":12}"
+    };
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        long durationNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))).toNanos();
+        String clientId = options.get("client-id");
+        IntFunction<String> clientIds = clientId != null ? worker -> clientId : worker -> "load-" + worker;
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+
+        if (options.containsKey("abusers")) {
+            String url = options.getOrDefault("url", "http://localhost:8080") + "/loan/decision";
+            abuse(url, concurrency, durationNanos, clientIds, rate, Integer.parseInt(options.get("abusers")));
+            return;
+        }
+
+        List<String> servers = new ArrayList<>();
+        servers.add(options.getOrDefault("url", "http://localhost:8080"));
+        if (options.containsKey("compare-url")) {
+            servers.add(options.get("compare-url"));
+        }
+        for (String server : servers) {
+            String url = server + "/loan/decision";
+            LoadResult result = run(url, concurrency, durationNanos, clientIds, rate);
+            System.out.println("url: " + url + ", concurrency: " + concurrency);
+            System.out.println(result.summary());
+            System.out.println(serverThreads(server));
+        }
+    }
+
+    /**
+     * Runs the well-behaved load alone and then next to a flood from a single abusive client, and prints the
+     * well-behaved latency of both runs.
+     */
+    static void abuse(String url, int concurrency, long durationNanos, IntFunction<String> clientIds, double rate,
+            int abusers) throws Exception {
+        LoadResult alone = run(url, concurrency, durationNanos, clientIds, rate);
+
+        ExecutorService flood = Executors.newSingleThreadExecutor();
+        Future<LoadResult> abuse = flood.submit(() -> run(url, abusers, durationNanos, worker -> "abuser", 0));
+        LoadResult underAbuse = run(url, concurrency, durationNanos, clientIds, rate);
+        LoadResult abusive = abuse.get();
+        flood.shutdown();
+
+        System.out.println("url: " + url + ", well-behaved clients: " + concurrency + " at " + rate
+                + " req/s each, abusive threads: " + abusers);
+        System.out.println("well-behaved alone:       " + alone.summary());
+        System.out.println("well-behaved under abuse: " + underAbuse.summary());
+        System.out.println("abuser:                   " + abusive.summary());
+    }
+
+    /**
+     * Reads the server's live and peak JVM thread counts from its Prometheus endpoint, so a blocking and a
+     * non-blocking build can be compared on threads as well as latency.
+     */
+    static String serverThreads(String server) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            String metrics = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString()).body();
+            return "server threads: live " + metric(metrics, "jvm_threads_live_threads")
+                    + ", peak " + metric(metrics, "jvm_threads_peak_threads");
+        } catch (IOException e) {
+            return "server threads: unavailable (" + e.getMessage() + ")";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "server threads: unavailable";
+        }
+    }
+
+    private static String metric(String metrics, String name) {
+        for (String line : metrics.split("\n")) {
+            if (line.startsWith(name + " ") || line.startsWith(name + "{")) {
+                String value = line.substring(line.lastIndexOf(' ') + 1);
+                return value.endsWith(".0") ? value.substring(0, value.length() - 2) : value;
+            }
+        }
+        return "?";
+    }
+
+    /**
+     * Sends requests from {@code concurrency} threads until the duration has passed, each thread as soon as
+     * its previous request is answered or, with a positive {@code ratePerThread}, at that steady rate.
+     */
+    public static LoadResult run(String url, int concurrency, long durationNanos, IntFunction<String> clientIds,
+            double ratePerThread) throws Exception {
+        long intervalNanos = ratePerThread > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerThread) : 0;
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<LoadResult>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            String clientId = clientIds.apply(i);
+            results.add(workers.submit(() -> {
+                start.await();
+                LoadResult local = new LoadResult();
+                long deadline = System.nanoTime() + durationNanos;
+                // Paced threads start spread over one interval, not all at once
+                long next = System.nanoTime() + ThreadLocalRandom.current().nextLong(Math.max(1, intervalNanos));
+                while (System.nanoTime() < deadline) {
+                    if (intervalNanos > 0) {
+                        LockSupport.parkNanos(next - System.nanoTime());
+                        next += intervalNanos;
+                    }
+                    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                            .timeout(Duration.ofSeconds(30))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    BODIES[ThreadLocalRandom.current().nextInt(BODIES.length)]));
+                    request.header("X-Api-Client", clientId);
+
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request.build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        local.record(response.statusCode(), System.nanoTime() - sent);
+                    } catch (IOException e) {
+                        local.record(-1, System.nanoTime() - sent);
+                    }
+                }
+                return local;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        LoadResult total = new LoadResult();
+        for (Future<LoadResult> result : results) {
+            total.merge(result.get());
+        }
+        total.elapsedNanos = System.nanoTime() - began;
+        workers.shutdown();
+        clientExecutor.shutdown();
+        return total;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Latencies and status codes collected by one or more client threads.
+     */
+    public static class LoadResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> statuses = new HashMap<>();
+        private long elapsedNanos;
+
+        void record(int status, long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statuses.merge(status, 1, Integer::sum);
+        }
+
+        void merge(LoadResult other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = other.latencies[i];
+            }
+            other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+        }
+
+        public double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(count - 1, Math.ceil(percentile / 100 * count) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000d;
+        }
+
+        public String summary() {
+            double seconds = elapsedNanos / 1_000_000_000d;
+            return String.format("requests: %d, throughput: %.0f req/s, statuses: %s, "
+                    + "latency p50: %.2f ms, p99: %.2f ms, p99.9: %.2f ms",
+                    count, count / seconds, statuses, percentileMillis(50), percentileMillis(99),
+                    percentileMillis(99.9));
+        }
+    }
+}
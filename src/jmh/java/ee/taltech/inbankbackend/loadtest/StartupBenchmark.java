@@ -0,0 +1,119 @@
+package ee.taltech.inbankbackend.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cold start as a caller sees it: the time from launching a fresh JVM until
+ * {@code POST /loan/decision} first returns an approval.
+ *
+ * Every run starts the service in its own process with the {@code prod} profile, polls the decision
+ * endpoint until it answers 200, then stops the process. The time of every run and the median are printed.
+ * With {@code --archive} the service is started once with {@code -XX:ArchiveClassesAtExit}, so the class
+ * data sharing archive written at exit holds every class loaded up to and including the first decision.
+ *
+ * <pre>
+ * gradle startupBenchmark --args="--runs=10"
+ * gradle startupBenchmark --args="--runs=10 --java-options=-XX:SharedArchiveFile=build/cds/inbank-backend.jsa"
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "ee.taltech.inbankbackend.InbankBackendApplication";
+    private static final String REQUEST = "{\"personalCode\":\"50307172740\",\"loanAmount\":2000,\"loanPeriod\":12}";
+    private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DecisionLoadTest.parse(args);
+        String classpath = options.get("classpath");
+        if (classpath == null) {
+            throw new IllegalArgumentException("--classpath is required");
+        }
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        List<String> javaOptions = new ArrayList<>();
+        if (options.containsKey("java-options")) {
+            javaOptions.addAll(Arrays.asList(options.get("java-options").trim().split("\\s+")));
+        }
+
+        if (options.containsKey("archive")) {
+            File archive = new File(options.get("archive"));
+            archive.getParentFile().mkdirs();
+            javaOptions.add("-XX:ArchiveClassesAtExit=" + archive.getPath());
+            long millis = timeToFirstDecision(classpath, javaOptions, port);
+            System.out.println("wrote " + archive + " after a first decision in " + millis + " ms");
+            return;
+        }
+
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstDecision(classpath, javaOptions, port);
+            System.out.println("run " + (i + 1) + ": first decision after " + millis[i] + " ms");
+        }
+        Arrays.sort(millis);
+        System.out.println("java options: " + javaOptions + ", runs: " + runs + ", time to first decision median: "
+                + millis[runs / 2] + " ms, min: " + millis[0] + " ms, max: " + millis[runs - 1] + " ms");
+    }
+
+    /**
+     * Starts the service, waits for its first approval and stops it again, returning the milliseconds in
+     * between launch and approval. The process is stopped gracefully so a class data archive gets written.
+     */
+    static long timeToFirstDecision(String classpath, List<String> javaOptions, int port) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(javaOptions);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=prod");
+        // The JIT warm-up answers its own requests before readiness and would compete with the first decision
+        command.add("--decision.warm-up.enabled=false");
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/loan/decision"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT_NANOS) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Service exited with " + process.exitValue() + " before deciding");
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No approval within " + TimeUnit.NANOSECONDS.toSeconds(TIMEOUT_NANOS)
+                    + " seconds");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ee.taltech.inbankbackend;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ee.taltech.inbankbackend.service.DecisionPipeline;
+import ee.taltech.inbankbackend.service.PipelineStats;
+
+/**
+ * Scores a newline-delimited JSON file of decision requests without starting the web server.
+ *
+ * Usage: {@code DecisionCli <input.ndjson | -> <output.ndjson>}, where {@code -} reads from standard input.
+ * Per-decision audit logging is off, since every decision is already written to the output file.
+ */
+public class DecisionCli {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DecisionCli <input.ndjson | -> <output.ndjson>");
+            System.exit(2);
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InbankBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("logging.level.decision.audit=OFF")
+                .run();
+             InputStream input = "-".equals(args[0])
+                     ? new BufferedInputStream(System.in)
+                     : new BufferedInputStream(Files.newInputStream(Path.of(args[0])));
+             OutputStream output = new BufferedOutputStream(Files.newOutputStream(Path.of(args[1])))) {
+
+            PipelineStats stats = context.getBean(DecisionPipeline.class).run(input, output);
+            System.err.println("Scored decisions: " + stats.summary());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether a decision request is let through to the controllers: first against its client's
+ * rate limit, then against the adaptive in-flight limit of the whole service.
+ *
+ * The rate limit is off unless {@code decision.rate-limit.enabled} is set. Clients are told apart by their
+ * address, and behind a load balancer or gateway every request comes from its address, so turning the
+ * limit on there without listing it in {@code decision.rate-limit.trusted-addresses} would throttle all
+ * traffic as one client. The {@code X-Api-Client} header is only believed from the
+ * addresses in {@code decision.rate-limit.trusted-addresses}, such as a gateway that authenticates
+ * partners and sets it; from anywhere else it could be rotated to dodge the limit, so it is ignored.
+ * Limits are only enforced once the service reports itself ready, so the JIT warm-up, which sends its
+ * requests from one address before that, is never limited. Every outcome is counted in
+ * {@code decision_admission_total{result}}.
+ *
+ * The batch and stream endpoints hold an in-flight slot like any other request, but their latency grows
+ * with the size of the body rather than with load, so it is left out of the in-flight limit.
+ */
+@Component
+public class AdmissionControl {
+
+    public static final String CLIENT_HEADER = "X-Api-Client";
+
+    private static final int MAX_CLIENT_LENGTH = 64;
+    private static final long SHED_RETRY_AFTER_SECONDS = 1;
+    private static final Set<String> UNTIMED_PATHS = Set.of("/loan/decisions/batch", "/loan/decisions/stream");
+
+    private final Set<String> trustedAddresses;
+    private final ClientRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    private volatile boolean enforcing;
+
+    public AdmissionControl(MeterRegistry registry,
+            @Value("${decision.rate-limit.enabled:false}") boolean rateLimitEnabled,
+            @Value("${decision.rate-limit.requests-per-second:100}") double requestsPerSecond,
+            @Value("${decision.rate-limit.burst:200}") int burst,
+            @Value("${decision.rate-limit.max-clients:100000}") long maxClients,
+            @Value("${decision.rate-limit.trusted-addresses:}") Set<String> trustedAddresses,
+            @Value("${decision.load-shedding.enabled:true}") boolean loadSheddingEnabled,
+            @Value("${decision.load-shedding.min-in-flight:8}") int minInFlight,
+            @Value("${decision.load-shedding.max-in-flight:200}") int maxInFlight,
+            @Value("${decision.load-shedding.target-latency:100ms}") Duration targetLatency) {
+        this.trustedAddresses = Set.copyOf(trustedAddresses);
+        this.rateLimiter = rateLimitEnabled
+                ? new ClientRateLimiter(requestsPerSecond, burst, maxClients, System::nanoTime)
+                : null;
+        this.loadShedder = loadSheddingEnabled
+                ? new LoadShedder(minInFlight, maxInFlight, targetLatency.toNanos(), System::nanoTime)
+                : null;
+
+        admitted = outcome(registry, "admitted");
+        rateLimited = outcome(registry, "rate_limited");
+        shed = outcome(registry, "shed");
+        if (rateLimiter != null) {
+            Gauge.builder("decision.admission.clients", rateLimiter, ClientRateLimiter::clients)
+                    .description("Clients whose request rate is being tracked")
+                    .register(registry);
+        }
+        if (loadShedder != null) {
+            Gauge.builder("decision.admission.in.flight", loadShedder, LoadShedder::inFlight)
+                    .description("Decision requests admitted and not yet answered")
+                    .register(registry);
+            Gauge.builder("decision.admission.limit", loadShedder, LoadShedder::limit)
+                    .description("Decision requests allowed in flight at the current latency")
+                    .register(registry);
+        }
+    }
+
+    @EventListener
+    public void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+        enforcing = event.getState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    /**
+     * Decides on a request for {@code path}. An admitted request must be passed to
+     * {@link #release(Admission, long)} once it is answered.
+     */
+    public Admission admit(String path, String clientHeader, String remoteAddress) {
+        if (!enforcing) {
+            admitted.increment();
+            return Admission.UNLIMITED;
+        }
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(client(clientHeader, remoteAddress));
+            if (waitNanos > 0) {
+                rateLimited.increment();
+                return new Admission(
+                        Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)),
+                        false, false);
+            }
+        }
+        if (loadShedder == null) {
+            admitted.increment();
+            return Admission.UNLIMITED;
+        }
+        if (!loadShedder.tryEnter()) {
+            shed.increment();
+            return new Admission(SHED_RETRY_AFTER_SECONDS, false, false);
+        }
+        admitted.increment();
+        return new Admission(0, true, !UNTIMED_PATHS.contains(path));
+    }
+
+    /**
+     * Ends an admitted request that was started at {@code startNanos}, freeing its in-flight slot if it
+     * took one. Readiness may have changed since it was admitted, so only the admission tells.
+     */
+    public void release(Admission admission, long startNanos) {
+        if (!admission.holdsSlot()) {
+            return;
+        }
+        if (admission.timed()) {
+            loadShedder.exit(System.nanoTime() - startNanos);
+        } else {
+            loadShedder.exit();
+        }
+    }
+
+    private String client(String clientHeader, String remoteAddress) {
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        if (clientHeader == null || clientHeader.isBlank() || !trustedAddresses.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        return clientHeader.length() > MAX_CLIENT_LENGTH ? clientHeader.substring(0, MAX_CLIENT_LENGTH) : clientHeader;
+    }
+
+    private static Counter outcome(MeterRegistry registry, String result) {
+        return Counter.builder("decision.admission")
+                .description("Decision requests by admission result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * The outcome of {@link #admit}: the whole seconds after which a turned away client should retry, or 0
+     * when the request is admitted, and whether it took an in-flight slot whose latency counts towards the
+     * limit.
+     */
+    public record Admission(long retryAfterSeconds, boolean holdsSlot, boolean timed) {
+
+        static final Admission UNLIMITED = new Admission(0, false, false);
+
+        public boolean admitted() {
+            return retryAfterSeconds == 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.io.IOException;
+
+import ee.taltech.inbankbackend.admission.AdmissionControl.Admission;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Puts {@link AdmissionControl} in front of the servlet decision endpoints. A request that is not admitted
+ * gets 429 Too Many Requests with a {@code Retry-After} header before any of it is read.
+ *
+ * An admitted request is released once it is answered. The stream endpoint answers asynchronously, after
+ * the filter chain has returned, so a request that went async is only released when its async processing
+ * completes.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    static final String TOO_MANY_REQUESTS_BODY =
+            "{\"loanAmount\":null,\"loanPeriod\":null,\"errorMessage\":\"Too many requests!\"}";
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/loan/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        Admission admission = admissionControl.admit(request.getRequestURI(),
+                request.getHeader(AdmissionControl.CLIENT_HEADER), request.getRemoteAddr());
+        if (!admission.admitted()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(admission.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(admission, start));
+            } else {
+                admissionControl.release(admission, start);
+            }
+        }
+    }
+
+    /**
+     * Releases an admission when the async request completes. Completion also follows a timeout or an
+     * error, so it is the one place to release.
+     */
+    private class ReleaseOnComplete implements AsyncListener {
+
+        private final Admission admission;
+        private final long start;
+
+        ReleaseOnComplete(Admission admission, long start) {
+            this.admission = admission;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admissionControl.release(admission, start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when the request goes async again, so stay registered
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Limits every client to a steady request rate with room for a burst, without locks.
+ *
+ * This is a token bucket written as the generic cell rate algorithm: instead of a token count and a
+ * refill time, each client has a single number, the theoretical arrival time of its next request, which
+ * moves forward by one emission interval per admitted request. A request is admitted while that time is
+ * no more than {@code burst} intervals ahead of now, and the update is one compare-and-set.
+ *
+ * A client that has been idle for {@code burst} intervals has a full bucket again, so its entry can then
+ * be forgotten without changing any decision; entries expire after that long without requests, and at
+ * most {@code maxClients} are kept.
+ */
+public class ClientRateLimiter {
+
+    private static final Function<String, AtomicLong> NEW_CLIENT = client -> new AtomicLong(Long.MIN_VALUE / 2);
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoTime;
+    private final Cache<String, AtomicLong> clients;
+
+    public ClientRateLimiter(double requestsPerSecond, int burst, long maxClients, LongSupplier nanoTime) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limits need a positive rate and a burst of at least 1");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.toleranceNanos = intervalNanos * burst;
+        this.nanoTime = nanoTime;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(toleranceNanos, TimeUnit.SECONDS.toNanos(1))))
+                .ticker(nanoTime::getAsLong)
+                .build();
+    }
+
+    /**
+     * Takes one request from the client's allowance, returning 0 when it is admitted or the nanoseconds
+     * until it would be.
+     */
+    public long tryAcquire(String client) {
+        AtomicLong theoreticalArrival = clients.getIfPresent(client);
+        if (theoreticalArrival == null) {
+            theoreticalArrival = clients.get(client, NEW_CLIENT);
+        }
+        long now = nanoTime.getAsLong();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns how many clients are tracked.
+     */
+    public long clients() {
+        return clients.estimatedSize();
+    }
+}
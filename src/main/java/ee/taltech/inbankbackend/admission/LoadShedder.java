@@ -0,0 +1,86 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounds the requests in flight with a limit that adapts to latency, so excess requests are turned away
+ * at once instead of queueing for a worker thread.
+ *
+ * The limit moves additive-increase, multiplicative-decrease: a request that completes within the
+ * target latency raises it by one, up to {@code maxInFlight}, while the limit is in use; one that takes
+ * longer cuts it by a tenth, down to {@code minInFlight}. Requests that were slow together were slowed by
+ * the same overload, so the limit is cut at most once per target latency. Under overload the service
+ * keeps taking the few requests it can answer quickly, and as latency recovers the limit grows back. All
+ * state is in atomics.
+ */
+public class LoadShedder {
+
+    private final int minInFlight;
+    private final int maxInFlight;
+    private final long targetLatencyNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicLong nextDecrease;
+
+    public LoadShedder(int minInFlight, int maxInFlight, long targetLatencyNanos, LongSupplier nanoTime) {
+        if (minInFlight < 1 || maxInFlight < minInFlight) {
+            throw new IllegalArgumentException("Load shedding needs 1 <= min-in-flight <= max-in-flight");
+        }
+        this.minInFlight = minInFlight;
+        this.maxInFlight = maxInFlight;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.nanoTime = nanoTime;
+        this.limit = new AtomicInteger(maxInFlight);
+        this.nextDecrease = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Takes a slot for a request, returning false when the limit is reached and the request is to be shed.
+     */
+    public boolean tryEnter() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a request that took {@code latencyNanos} and adjusts the limit.
+     */
+    public void exit(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > targetLatencyNanos) {
+            long now = nanoTime.getAsLong();
+            long next = nextDecrease.get();
+            if (now - next >= 0 && nextDecrease.compareAndSet(next, now + targetLatencyNanos)) {
+                limit.updateAndGet(current -> Math.max(minInFlight, current - Math.max(1, current / 10)));
+            }
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            // Only a limit that is actually being used has shown it can grow
+            limit.updateAndGet(current -> Math.min(maxInFlight, current + 1));
+        }
+    }
+
+    /**
+     * Frees the slot of a request whose latency says nothing about load, leaving the limit as it is.
+     */
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+}
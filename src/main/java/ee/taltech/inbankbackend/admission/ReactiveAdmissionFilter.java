@@ -0,0 +1,60 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import ee.taltech.inbankbackend.admission.AdmissionControl.Admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts {@link AdmissionControl} in front of the reactive decision endpoints, answering like
+ * {@link AdmissionFilter} does for the servlet ones.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAdmissionFilter implements WebFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            AdmissionFilter.TOO_MANY_REQUESTS_BODY.getBytes(StandardCharsets.UTF_8);
+
+    private final AdmissionControl admissionControl;
+
+    public ReactiveAdmissionFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!request.getPath().value().startsWith("/loan/")) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        Admission admission = admissionControl.admit(request.getPath().value(),
+                request.getHeaders().getFirst(AdmissionControl.CLIENT_HEADER),
+                remoteAddress == null ? null : remoteAddress.getHostString());
+        if (!admission.admitted()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(admission.retryAfterSeconds()));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            DataBuffer body = response.bufferFactory().wrap(TOO_MANY_REQUESTS_BODY);
+            return response.writeWith(Mono.just(body));
+        }
+        return chain.filter(exchange).doFinally(signal -> admissionControl.release(admission, start));
+    }
+}
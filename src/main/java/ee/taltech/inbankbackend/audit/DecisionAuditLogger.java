@@ -0,0 +1,82 @@
+package ee.taltech.inbankbackend.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.journal.DecisionJournal;
+import ee.taltech.inbankbackend.journal.JournalRecord.Outcome;
+
+/**
+ * Writes one structured audit event per loan decision to the {@code decision.audit} logger.
+ *
+ * Events are key=value pairs with the personal code masked. The logger is routed through an async
+ * appender in {@code logback-spring.xml}, so request threads only wait on the console when its queue is
+ * full, and no event is lost. When the logger is disabled the level check is the only work done: no
+ * masking, formatting or argument arrays.
+ *
+ * When the {@link DecisionJournal} is enabled every decision is also appended to it, unmasked and
+ * whatever the log level.
+ */
+@Component
+public class DecisionAuditLogger {
+
+    private static final Logger log = LoggerFactory.getLogger("decision.audit");
+
+    private final DecisionJournal journal;
+
+    public DecisionAuditLogger() {
+        this.journal = null;
+    }
+
+    @Autowired
+    public DecisionAuditLogger(ObjectProvider<DecisionJournal> journal) {
+        this.journal = journal.getIfAvailable();
+    }
+
+    public void approved(String personalCode, Long loanAmount, int loanPeriod, int creditModifier,
+            DecisionResult decision) {
+        if (journal != null) {
+            journal.append(Outcome.APPROVED, null, personalCode, loanAmount, loanPeriod, creditModifier,
+                    decision.getLoanAmount(), decision.getLoanPeriod());
+        }
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.info("decision outcome=approved personalCode={} loanAmount={} loanPeriod={} creditModifier={} "
+                + "approvedAmount={} approvedPeriod={}",
+                PersonalCodeMasker.mask(personalCode), loanAmount, loanPeriod, creditModifier,
+                decision.getLoanAmount(), decision.getLoanPeriod());
+    }
+
+    public void rejected(String personalCode, Long loanAmount, int loanPeriod, int creditModifier,
+            RejectionReason reason) {
+        if (journal != null) {
+            journal.append(Outcome.REJECTED, reason, personalCode, loanAmount, loanPeriod, creditModifier, 0, 0);
+        }
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.info("decision outcome=rejected personalCode={} loanAmount={} loanPeriod={} creditModifier={} "
+                + "reason=\"{}\"",
+                PersonalCodeMasker.mask(personalCode), loanAmount, loanPeriod, creditModifier, reason.getMessage());
+    }
+
+    /**
+     * Logs a request that failed validation before a credit modifier was looked up.
+     */
+    public void invalid(String personalCode, Long loanAmount, int loanPeriod, RejectionReason reason) {
+        if (journal != null) {
+            journal.append(Outcome.INVALID, reason, personalCode, loanAmount, loanPeriod, -1, 0, 0);
+        }
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.info("decision outcome=invalid personalCode={} loanAmount={} loanPeriod={} reason=\"{}\"",
+                PersonalCodeMasker.mask(personalCode), loanAmount, loanPeriod, reason.getMessage());
+    }
+}
@@ -0,0 +1,32 @@
+package ee.taltech.inbankbackend.audit;
+
+/**
+ * Masks personal ID codes before they are written to logs.
+ */
+public final class PersonalCodeMasker {
+
+    private static final int VISIBLE_PREFIX = 1;
+    private static final int VISIBLE_SUFFIX = 2;
+
+    private PersonalCodeMasker() {
+    }
+
+    /**
+     * Keeps the gender and century digit and the last two digits, e.g. {@code 3********99}.
+     */
+    public static String mask(String personalCode) {
+        if (personalCode == null) {
+            return null;
+        }
+        int length = personalCode.length();
+        if (length <= VISIBLE_PREFIX + VISIBLE_SUFFIX) {
+            return "*".repeat(length);
+        }
+
+        char[] masked = personalCode.toCharArray();
+        for (int i = VISIBLE_PREFIX; i < length - VISIBLE_SUFFIX; i++) {
+            masked[i] = '*';
+        }
+        return new String(masked);
+    }
+}
@@ -0,0 +1,24 @@
+package ee.taltech.inbankbackend.config;
+
+import java.util.List;
+
+import ee.taltech.inbankbackend.controller.DecisionBinaryMessageConverter;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Lets {@code POST /loan/decision} speak the binary decision format next to JSON.
+ *
+ * The converter is added after the default ones, so clients that accept anything still get JSON and only
+ * an explicit {@code Accept: application/x-inbank-decision} selects the binary response.
+ */
+@Configuration
+public class BinaryProtocolConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new DecisionBinaryMessageConverter());
+    }
+}
@@ -0,0 +1,79 @@
+package ee.taltech.inbankbackend.config;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import ee.taltech.inbankbackend.credit.CachingCreditModifierProvider;
+import ee.taltech.inbankbackend.credit.CoalescingCreditModifierProvider;
+import ee.taltech.inbankbackend.credit.CreditModifierProvider;
+import ee.taltech.inbankbackend.credit.FileCreditModifierProvider;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.service.CreditModifierService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+
+/**
+ * Chooses where credit modifiers come from.
+ *
+ * {@code decision.credit-modifier.source} is either {@code segment}, which derives the modifier from the
+ * personal code, or {@code file}, which reads it from a local registry file and reloads it when it
+ * changes. Concurrent lookups of the registry for the same applicant share one round trip. With
+ * {@code decision.credit-modifier.cache.enabled=true} the chosen source is wrapped in an in-memory cache,
+ * which is cleared whenever the decision inputs change. The cache's refresh threads are stopped with the
+ * context, as Spring closes the {@link AutoCloseable} bean.
+ */
+@Configuration
+public class CreditModifierConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditModifierConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "decision.credit-modifier.source", havingValue = "file")
+    public FileCreditModifierProvider fileCreditModifierProvider(
+            @Value("${decision.credit-modifier.file:classpath:credit-registry.csv}") Resource registryFile,
+            @Value("${decision.credit-modifier.file-latency:0ms}") Duration registryLatency) {
+        FileCreditModifierProvider fileProvider = new FileCreditModifierProvider(registryFile, registryLatency);
+        log.info("Loaded {} credit modifiers from {}", fileProvider.size(), fileProvider.getDescription());
+        return fileProvider;
+    }
+
+    @Bean
+    @Primary
+    public CreditModifierProvider creditModifierProvider(
+            CreditModifierService segmentProvider,
+            ObjectProvider<FileCreditModifierProvider> fileProvider,
+            MeterRegistry meterRegistry,
+            DecisionMetrics metrics,
+            @Value("${decision.credit-modifier.source:segment}") String source,
+            @Value("${decision.credit-modifier.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${decision.credit-modifier.cache.maximum-size:100000}") long cacheMaximumSize,
+            @Value("${decision.credit-modifier.cache.expire-after-write:30m}") Duration cacheExpireAfterWrite,
+            @Value("${decision.credit-modifier.cache.refresh-after-write:5m}") Duration cacheRefreshAfterWrite,
+            @Value("${decision.credit-modifier.cache.refresh-threads:2}") int cacheRefreshThreads) {
+
+        CreditModifierProvider provider;
+        switch (source) {
+            case "segment" -> provider = segmentProvider;
+            case "file" -> provider = new CoalescingCreditModifierProvider(fileProvider.getObject(),
+                    metrics::coalescedCreditModifierLookup);
+            default -> throw new IllegalStateException("Unknown decision.credit-modifier.source: " + source);
+        }
+
+        if (!cacheEnabled) {
+            return provider;
+        }
+        CachingCreditModifierProvider cachingProvider = new CachingCreditModifierProvider(provider,
+                cacheMaximumSize, cacheExpireAfterWrite, cacheRefreshAfterWrite, cacheRefreshThreads);
+        cachingProvider.bindTo(meterRegistry);
+        return cachingProvider;
+    }
+}
@@ -1,14 +1,23 @@
 package ee.taltech.inbankbackend.config;
 
 /**
- * Holds all necessary constants for the decision engine.
+ * Holds the default decision policy, used for every value the policy file leaves out, and the limits
+ * that are not part of the policy.
  */
 public class DecisionEngineConstants {
-    public static final Integer MINIMUM_LOAN_AMOUNT = 2000;
-    public static final Integer MAXIMUM_LOAN_AMOUNT = 10000;
-    public static final Integer MAXIMUM_LOAN_PERIOD = 60;
-    public static final Integer MINIMUM_LOAN_PERIOD = 12;
-    public static final Integer SEGMENT_1_CREDIT_MODIFIER = 100;
-    public static final Integer SEGMENT_2_CREDIT_MODIFIER = 300;
-    public static final Integer SEGMENT_3_CREDIT_MODIFIER = 1000;
+    public static final int MINIMUM_LOAN_AMOUNT = 2000;
+    public static final int MAXIMUM_LOAN_AMOUNT = 10000;
+    public static final int LOAN_AMOUNT_STEP = 100;
+    public static final int MAXIMUM_LOAN_PERIOD = 60;
+    public static final int MINIMUM_LOAN_PERIOD = 12;
+    public static final int DEBT_SEGMENT_LIMIT = 2500;
+    public static final int SEGMENT_1_LIMIT = 5000;
+    public static final int SEGMENT_2_LIMIT = 7500;
+    public static final int SEGMENT_1_CREDIT_MODIFIER = 100;
+    public static final int SEGMENT_2_CREDIT_MODIFIER = 300;
+    public static final int SEGMENT_3_CREDIT_MODIFIER = 1000;
+    public static final int MINIMUM_AGE = 18;
+    public static final int LIFE_EXPECTANCY = 80;
+    public static final double MINIMUM_CREDIT_SCORE = 0.1;
+    public static final int MAXIMUM_BATCH_SIZE = 10000;
 }
@@ -0,0 +1,29 @@
+package ee.taltech.inbankbackend.config;
+
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+/**
+ * Loads the decision policy from {@code decision.policy.file} at startup. An invalid policy stops the
+ * application from starting.
+ */
+@Configuration
+public class DecisionPolicyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionPolicyConfig.class);
+
+    @Bean
+    public DecisionPolicyStore decisionPolicyStore(
+            @Value("${decision.policy.file:classpath:decision-policy.properties}") Resource file) {
+        DecisionPolicy policy = DecisionPolicyStore.load(file);
+        log.info("Loaded decision policy from {}", file.getDescription());
+        return new DecisionPolicyStore(policy);
+    }
+}
@@ -0,0 +1,38 @@
+package ee.taltech.inbankbackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Serves the reactive controller from Netty when the service is started with
+ * {@code spring.main.web-application-type=reactive}.
+ *
+ * Decisions never run on the Netty event loop. They run on {@code decisionScheduler}: one thread per core
+ * when credit modifiers are derived from the personal code, since the work is CPU-bound, or a bounded
+ * elastic pool when they are read from the registry file, whose lookups block.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    // Tomcat is on the classpath for the servlet build; without this it would also host the reactive one
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler decisionScheduler(@Value("${decision.credit-modifier.source:segment}") String source) {
+        if (source.equals("file")) {
+            return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                    Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "decision");
+        }
+        return Schedulers.newParallel("decision", Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,66 @@
+package ee.taltech.inbankbackend.config;
+
+import ee.taltech.inbankbackend.admission.AdmissionControl;
+import ee.taltech.inbankbackend.controller.DecisionEngineController;
+import ee.taltech.inbankbackend.controller.ReactiveDecisionEngineController;
+import ee.taltech.inbankbackend.credit.CreditModifierProvider;
+import ee.taltech.inbankbackend.credit.CreditRegistryReloader;
+import ee.taltech.inbankbackend.exception.GlobalExceptionHandler;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.policy.DecisionPolicyReloader;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+import ee.taltech.inbankbackend.service.DecisionResponseCache;
+import ee.taltech.inbankbackend.service.DecisionTable;
+import ee.taltech.inbankbackend.validator.LoanInputValidator;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Keeps the beans a decision request needs eager when {@code spring.main.lazy-initialization} is on, as it
+ * is in the {@code prod} profile.
+ *
+ * Everything else is created on first use, which shortens startup, but the validator, the decision table,
+ * the credit modifier source, admission control and the controllers are built before the service reports
+ * ready, so the first request does not pay for them. The reloaders stay eager too, since a bean that is
+ * never created never has its {@code @Scheduled} checks registered.
+ *
+ * For the native image it also declares the classpath files read at runtime, which static analysis cannot
+ * see.
+ */
+@Configuration
+@ImportRuntimeHints(StartupConfig.ClasspathResourceHints.class)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter decisionPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                AdmissionControl.class,
+                DecisionEngineController.class,
+                ReactiveDecisionEngineController.class,
+                GlobalExceptionHandler.class,
+                DecisionEngineService.class,
+                LoanInputValidator.class,
+                DecisionTable.class,
+                CreditModifierProvider.class,
+                DecisionResponseCache.class,
+                DecisionMetrics.class,
+                CreditRegistryReloader.class,
+                DecisionPolicyReloader.class);
+    }
+
+    static class ClasspathResourceHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("decision-policy.properties")
+                    .registerPattern("credit-registry.csv")
+                    .registerPattern("logback-spring.xml");
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package ee.taltech.inbankbackend.controller;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Reads decision requests and writes decision responses in a fixed binary layout, for service callers
+ * that would rather not pay for JSON on three fields in and three fields out.
+ *
+ * Every number is big-endian and every message starts with the format version:
+ * <pre>
+ * request:  u8 version | u8 code length | personal code, ASCII | i32 loan amount | i16 loan period
+ * response: u8 version | i32 loan amount | i16 loan period | u16 message length | error message, UTF-8
+ * </pre>
+ * An approval carries no message; a rejection carries a zero amount and period and the error message.
+ * With an 11 digit personal code a request is 19 bytes and an approval 9 bytes.
+ */
+public class DecisionBinaryMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-inbank-decision";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    static final int VERSION = 1;
+
+    private static final int MAX_CODE_LENGTH = 255;
+    private static final int MAX_REQUEST_LENGTH = 1 + 1 + MAX_CODE_LENGTH + 4 + 2;
+    private static final int MAX_MESSAGE_LENGTH = 0xFFFF;
+    private static final byte[] NO_MESSAGE = new byte[0];
+
+    public DecisionBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == DecisionRequestDTO.class || clazz == DecisionResponseDTO.class;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        if (clazz != DecisionRequestDTO.class) {
+            throw new HttpMessageNotReadableException("Only decision requests can be read as " + MEDIA_TYPE_VALUE,
+                    inputMessage);
+        }
+        byte[] body = inputMessage.getBody().readNBytes(MAX_REQUEST_LENGTH + 1);
+        try {
+            return readRequest(body);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(writeResponse((DecisionResponseDTO) value));
+    }
+
+    @Override
+    protected Long getContentLength(Object value, MediaType contentType) {
+        return value instanceof DecisionResponseDTO response ? (long) responseLength(response) : null;
+    }
+
+    /**
+     * Decodes a request, throwing {@link IllegalArgumentException} when the bytes do not hold exactly one
+     * request of the supported version.
+     */
+    public static DecisionRequestDTO readRequest(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        try {
+            checkVersion(buffer.get());
+            int codeLength = Byte.toUnsignedInt(buffer.get());
+            char[] code = new char[codeLength];
+            for (int i = 0; i < codeLength; i++) {
+                code[i] = (char) Byte.toUnsignedInt(buffer.get());
+            }
+            long loanAmount = buffer.getInt();
+            int loanPeriod = buffer.getShort();
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Decision request has trailing bytes");
+            }
+            return new DecisionRequestDTO(new String(code), loanAmount, loanPeriod);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Decision request is truncated", e);
+        }
+    }
+
+    /**
+     * Encodes a request the way {@link #readRequest(byte[])} reads it.
+     */
+    public static byte[] writeRequest(DecisionRequestDTO request) {
+        byte[] code = request.getPersonalCode().getBytes(StandardCharsets.US_ASCII);
+        if (code.length > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Personal code is longer than " + MAX_CODE_LENGTH + " characters");
+        }
+        return ByteBuffer.allocate(1 + 1 + code.length + 4 + 2)
+                .put((byte) VERSION)
+                .put((byte) code.length)
+                .put(code)
+                .putInt(Math.toIntExact(request.getLoanAmount()))
+                .putShort((short) request.getLoanPeriod())
+                .array();
+    }
+
+    /**
+     * Decodes a response, throwing {@link IllegalArgumentException} when the bytes do not hold exactly one
+     * response of the supported version.
+     */
+    public static DecisionResponseDTO readResponse(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        try {
+            checkVersion(buffer.get());
+            int loanAmount = buffer.getInt();
+            int loanPeriod = buffer.getShort();
+            byte[] message = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(message);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Decision response has trailing bytes");
+            }
+
+            DecisionResponseDTO response = new DecisionResponseDTO();
+            if (message.length == 0) {
+                response.setLoanAmount(loanAmount);
+                response.setLoanPeriod(loanPeriod);
+            } else {
+                response.setErrorMessage(new String(message, StandardCharsets.UTF_8));
+            }
+            return response;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Decision response is truncated", e);
+        }
+    }
+
+    /**
+     * Encodes a response the way {@link #readResponse(byte[])} reads it.
+     */
+    public static byte[] writeResponse(DecisionResponseDTO response) {
+        byte[] message = message(response);
+        return ByteBuffer.allocate(1 + 4 + 2 + 2 + message.length)
+                .put((byte) VERSION)
+                .putInt(response.getLoanAmount() == null ? 0 : response.getLoanAmount())
+                .putShort((short) (response.getLoanPeriod() == null ? 0 : response.getLoanPeriod()))
+                .putShort((short) message.length)
+                .put(message)
+                .array();
+    }
+
+    private static int responseLength(DecisionResponseDTO response) {
+        return 1 + 4 + 2 + 2 + message(response).length;
+    }
+
+    private static byte[] message(DecisionResponseDTO response) {
+        if (response.getErrorMessage() == null) {
+            return NO_MESSAGE;
+        }
+        byte[] message = response.getErrorMessage().getBytes(StandardCharsets.UTF_8);
+        if (message.length > MAX_MESSAGE_LENGTH) {
+            throw new IllegalArgumentException("Error message is longer than " + MAX_MESSAGE_LENGTH + " bytes");
+        }
+        return message;
+    }
+
+    private static void checkVersion(byte version) {
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported decision message version " + version);
+        }
+    }
+}
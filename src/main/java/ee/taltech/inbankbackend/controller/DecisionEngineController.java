@@ -1,43 +1,130 @@
 package ee.taltech.inbankbackend.controller;
 
-import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.dto.DecisionExplanation;
 import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
 import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.LoanOffersDTO;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.service.BatchDecisionService;
 import ee.taltech.inbankbackend.service.DecisionEngineService;
+import ee.taltech.inbankbackend.service.DecisionPipeline;
+import ee.taltech.inbankbackend.service.PipelineStats;
+import ee.taltech.inbankbackend.warmup.WarmUpRunner;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/loan")
 @CrossOrigin
 public class DecisionEngineController {
 
+    // Carries the personal code of an offers request, keeping it out of URLs and so out of access logs
+    public static final String PERSONAL_CODE_HEADER = "X-Personal-Code";
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionEngineController.class);
+
     private final DecisionEngineService decisionEngine;
+    private final BatchDecisionService batchDecisionService;
+    private final DecisionPipeline decisionPipeline;
+    private final DecisionMetrics metrics;
 
     @Autowired
-    DecisionEngineController(DecisionEngineService decisionEngine) {
+    DecisionEngineController(DecisionEngineService decisionEngine, BatchDecisionService batchDecisionService,
+            DecisionPipeline decisionPipeline, DecisionMetrics metrics) {
         this.decisionEngine = decisionEngine;
+        this.batchDecisionService = batchDecisionService;
+        this.decisionPipeline = decisionPipeline;
+        this.metrics = metrics;
     }
 
+    /**
+     * Returns the decision for the request. Approvals carry a strong ETag, and a request whose
+     * {@code If-None-Match} header already names the same decision gets an empty 304 response.
+     *
+     * With {@code explain=true} the response also explains the decision, which is then always made afresh
+     * rather than taken from the cache. Requests of the JIT warm-up are decided without being audited or
+     * counted.
+     */
     @PostMapping("/decision")
-    public ResponseEntity<DecisionResponseDTO> requestDecision(@RequestBody DecisionRequestDTO request) {
+    public ResponseEntity<DecisionResponseDTO> requestDecision(@RequestBody DecisionRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = WarmUpRunner.HEADER, required = false) String warmUpToken,
+            @RequestParam(defaultValue = "false") boolean explain) {
+        long start = System.nanoTime();
+        boolean warmUp = WarmUpRunner.isWarmUp(warmUpToken);
+        try {
+            if (explain) {
+                DecisionExplanation explanation = new DecisionExplanation();
+                DecisionResult decision = decisionEngine.explain(request.getPersonalCode(), request.getLoanAmount(),
+                        request.getLoanPeriod(), explanation);
+                return DecisionResponses.toExplainedResponse(decision, explanation, metrics);
+            }
+
+            DecisionResult decision = warmUp
+                ? decisionEngine.warmUp(request.getPersonalCode(), request.getLoanAmount(), request.getLoanPeriod())
+                : decisionEngine.evaluate(
+                    request.getPersonalCode(),
+                    request.getLoanAmount(),
+                    request.getLoanPeriod()
+                );
 
-        DecisionDTO decision = decisionEngine.calculateApprovedLoan(
-            request.getPersonalCode(), 
-            request.getLoanAmount(), 
-            request.getLoanPeriod()
-        );
+            return DecisionResponses.toResponse(decision, ifNoneMatch, warmUp ? null : metrics);
+        } finally {
+            if (!warmUp) {
+                metrics.recordController(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Returns the highest approvable amount for every loan period, so a client can show every slider
+     * position without asking again. The personal code is sent in the {@code X-Personal-Code} header
+     * rather than the query string. Repeat requests with a matching {@code If-None-Match} header get an
+     * empty 304 response.
+     */
+    @GetMapping("/offers")
+    public ResponseEntity<LoanOffersDTO> requestOffers(@RequestHeader(PERSONAL_CODE_HEADER) String personalCode) {
+        return DecisionResponses.toOffersResponse(decisionEngine.offers(personalCode), metrics);
+    }
 
-        DecisionResponseDTO response = new DecisionResponseDTO();
-            response.setLoanAmount(decision.getLoanAmount());
-            response.setLoanPeriod(decision.getLoanPeriod());
-            response.setErrorMessage(null);
+    /**
+     * Evaluates a batch of requests. Each item gets its own result or error message, in request order.
+     */
+    @PostMapping("/decisions/batch")
+    public ResponseEntity<List<DecisionResponseDTO>> requestDecisions(@RequestBody List<DecisionRequestDTO> requests) {
+        return ResponseEntity.ok(batchDecisionService.calculateApprovedLoans(requests));
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * Scores a newline-delimited JSON stream of requests and streams one result line back per request,
+     * in order, without buffering the whole body.
+     */
+    @PostMapping(value = "/decisions/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDecisions(HttpServletRequest request) {
+        StreamingResponseBody body = output -> {
+            PipelineStats stats = decisionPipeline.run(request.getInputStream(), output);
+            log.info("Streamed decisions: {}", stats.summary());
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 }
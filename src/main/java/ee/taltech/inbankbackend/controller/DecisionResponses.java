@@ -0,0 +1,116 @@
+package ee.taltech.inbankbackend.controller;
+
+import ee.taltech.inbankbackend.dto.DecisionExplanation;
+import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.LoanOffersDTO;
+import ee.taltech.inbankbackend.dto.LoanOffersResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.service.DecisionResponseCache;
+
+import java.time.Duration;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Turns decisions and offers into the HTTP responses both the servlet and the reactive controller answer with.
+ */
+final class DecisionResponses {
+
+    // Offers only change when the applicant's credit modifier does, so clients may reuse them for a while,
+    // as long as they are for the same applicant
+    private static final CacheControl OFFERS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate();
+
+    private DecisionResponses() {
+    }
+
+    /**
+     * Returns the decision for the request. Approvals carry a strong ETag, and a request whose
+     * {@code If-None-Match} header already names the same decision gets an empty 304 response. Rejections
+     * are counted in {@code metrics} unless it is null, as it is for warm-up requests.
+     */
+    static ResponseEntity<DecisionResponseDTO> toResponse(DecisionResult decision, String ifNoneMatch,
+            DecisionMetrics metrics) {
+        DecisionResponseDTO response = new DecisionResponseDTO();
+        if (!decision.isApproved()) {
+            return rejection(response, decision.getRejectionReason(), metrics);
+        }
+
+        String entityTag = DecisionResponseCache.entityTag(decision);
+        if (matches(ifNoneMatch, entityTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entityTag).build();
+        }
+
+        response.setLoanAmount(decision.getLoanAmount());
+        response.setLoanPeriod(decision.getLoanPeriod());
+        response.setErrorMessage(null);
+
+        return ResponseEntity.ok().eTag(entityTag).body(response);
+    }
+
+    /**
+     * Returns the decision for the request together with its explanation. The explanation depends on the
+     * requested amount and period as well as the decision, so these responses carry no ETag.
+     */
+    static ResponseEntity<DecisionResponseDTO> toExplainedResponse(DecisionResult decision,
+            DecisionExplanation explanation, DecisionMetrics metrics) {
+        DecisionResponseDTO response = new DecisionResponseDTO();
+        // Invalid requests are rejected before the engine has anything to explain
+        if (explanation.getCreditModifier() != null) {
+            response.setExplanation(explanation);
+        }
+        if (!decision.isApproved()) {
+            return rejection(response, decision.getRejectionReason(), metrics);
+        }
+
+        response.setLoanAmount(decision.getLoanAmount());
+        response.setLoanPeriod(decision.getLoanPeriod());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Returns the offer curve, or the rejection when the applicant gets no offers at all.
+     */
+    static ResponseEntity<LoanOffersDTO> toOffersResponse(LoanOffersResult offers, DecisionMetrics metrics) {
+        LoanOffersDTO response = new LoanOffersDTO();
+        if (!offers.isApproved()) {
+            RejectionReason reason = offers.getRejectionReason();
+            metrics.rejected(reason);
+            response.setErrorMessage(reason.getMessage());
+            return new ResponseEntity<>(response, reason.getStatus());
+        }
+
+        response.setLoanPeriods(offers.getLoanPeriods());
+        response.setLoanAmounts(offers.getLoanAmounts());
+        return ResponseEntity.ok()
+                .eTag(offers.getEntityTag())
+                .cacheControl(OFFERS_CACHE_CONTROL)
+                .varyBy(DecisionEngineController.PERSONAL_CODE_HEADER)
+                .body(response);
+    }
+
+    private static ResponseEntity<DecisionResponseDTO> rejection(DecisionResponseDTO response,
+            RejectionReason reason, DecisionMetrics metrics) {
+        if (metrics != null) {
+            metrics.rejected(reason);
+        }
+        response.setErrorMessage(reason.getMessage());
+        return new ResponseEntity<>(response, reason.getStatus());
+    }
+
+    private static boolean matches(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || tag.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
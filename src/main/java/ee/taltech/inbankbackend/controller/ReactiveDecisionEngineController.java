@@ -0,0 +1,137 @@
+package ee.taltech.inbankbackend.controller;
+
+import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.dto.DecisionExplanation;
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+import ee.taltech.inbankbackend.dto.LoanOffersDTO;
+import ee.taltech.inbankbackend.exception.InvalidBatchSizeException;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.service.BatchDecisionService;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+import ee.taltech.inbankbackend.service.DecisionPipeline;
+import ee.taltech.inbankbackend.warmup.WarmUpRunner;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Non-blocking build of the decision endpoints, active when the service runs as a reactive web
+ * application.
+ *
+ * Requests are read and answered on the event loop, while every decision, including its credit modifier
+ * lookup, runs on the decision scheduler, so a slow lookup never holds an event loop thread. Responses
+ * match the servlet controller.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/loan")
+@CrossOrigin
+public class ReactiveDecisionEngineController {
+
+    // Decisions in flight per batch or stream; the scheduler bounds how many actually run at once
+    private static final int CONCURRENCY = 256;
+
+    private final DecisionEngineService decisionEngine;
+    private final BatchDecisionService batchDecisionService;
+    private final DecisionPipeline decisionPipeline;
+    private final DecisionMetrics metrics;
+    private final Scheduler decisionScheduler;
+
+    ReactiveDecisionEngineController(DecisionEngineService decisionEngine, BatchDecisionService batchDecisionService,
+            DecisionPipeline decisionPipeline, DecisionMetrics metrics,
+            @Qualifier("decisionScheduler") Scheduler decisionScheduler) {
+        this.decisionEngine = decisionEngine;
+        this.batchDecisionService = batchDecisionService;
+        this.decisionPipeline = decisionPipeline;
+        this.metrics = metrics;
+        this.decisionScheduler = decisionScheduler;
+    }
+
+    @PostMapping("/decision")
+    public Mono<ResponseEntity<DecisionResponseDTO>> requestDecision(@RequestBody DecisionRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = WarmUpRunner.HEADER, required = false) String warmUpToken,
+            @RequestParam(defaultValue = "false") boolean explain) {
+        long start = System.nanoTime();
+        boolean warmUp = WarmUpRunner.isWarmUp(warmUpToken);
+        if (explain) {
+            DecisionExplanation explanation = new DecisionExplanation();
+            return Mono.fromCallable(() -> decisionEngine.explain(request.getPersonalCode(), request.getLoanAmount(),
+                        request.getLoanPeriod(), explanation))
+                    .subscribeOn(decisionScheduler)
+                    .map(decision -> DecisionResponses.toExplainedResponse(decision, explanation, metrics))
+                    .doFinally(signal -> metrics.recordController(System.nanoTime() - start));
+        }
+        return Mono.fromCallable(() -> warmUp
+                    ? decisionEngine.warmUp(request.getPersonalCode(), request.getLoanAmount(),
+                        request.getLoanPeriod())
+                    : decisionEngine.evaluate(
+                        request.getPersonalCode(),
+                        request.getLoanAmount(),
+                        request.getLoanPeriod()
+                    ))
+                .subscribeOn(decisionScheduler)
+                .map(decision -> DecisionResponses.toResponse(decision, ifNoneMatch, warmUp ? null : metrics))
+                .doFinally(signal -> {
+                    if (!warmUp) {
+                        metrics.recordController(System.nanoTime() - start);
+                    }
+                });
+    }
+
+    /**
+     * Returns the highest approvable amount for every loan period, cacheable like the servlet response.
+     */
+    @GetMapping("/offers")
+    public Mono<ResponseEntity<LoanOffersDTO>> requestOffers(
+            @RequestHeader(DecisionEngineController.PERSONAL_CODE_HEADER) String personalCode) {
+        return Mono.fromCallable(() -> decisionEngine.offers(personalCode))
+                .subscribeOn(decisionScheduler)
+                .map(offers -> DecisionResponses.toOffersResponse(offers, metrics));
+    }
+
+    /**
+     * Evaluates a batch of requests. Each item gets its own result or error message, in request order.
+     */
+    @PostMapping("/decisions/batch")
+    public Mono<List<DecisionResponseDTO>> requestDecisions(@RequestBody List<DecisionRequestDTO> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > DecisionEngineConstants.MAXIMUM_BATCH_SIZE) {
+            return Mono.error(new InvalidBatchSizeException("Invalid batch size!"));
+        }
+        return Flux.fromIterable(requests)
+                .flatMapSequential(request -> Mono.fromCallable(
+                        () -> batchDecisionService.calculateApprovedLoan(request))
+                        .subscribeOn(decisionScheduler), CONCURRENCY)
+                .collectList();
+    }
+
+    /**
+     * Scores a newline-delimited JSON stream of requests and streams one result line back per request,
+     * in order. Lines are only read as fast as results are written, so memory use stays constant.
+     */
+    @PostMapping(value = "/decisions/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DecisionResponseDTO> streamDecisions(@RequestBody Flux<String> lines) {
+        return lines
+                .filter(line -> !line.isBlank())
+                .flatMapSequential(line -> Mono.fromCallable(() -> decisionPipeline.decide(line))
+                        .subscribeOn(decisionScheduler), CONCURRENCY);
+    }
+}
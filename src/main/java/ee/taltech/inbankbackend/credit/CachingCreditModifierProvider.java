@@ -0,0 +1,103 @@
+package ee.taltech.inbankbackend.credit;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import ee.taltech.inbankbackend.service.DecisionInputsChangedEvent;
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Caches the credit modifiers of another provider, so repeat applicants skip the registry lookup.
+ *
+ * The cache holds at most {@code maximumSize} applicants. Entries older than {@code refreshAfterWrite}
+ * are still served while a fresh value is loaded in the background, and entries older than
+ * {@code expireAfterWrite} are dropped and loaded again on the next request. Hits and misses are counted
+ * and available through {@link #stats()} and as {@code cache.*} metrics tagged
+ * {@code cache=creditModifiers}.
+ *
+ * Background refreshes run on {@code refreshThreads} threads of their own, so a slow registry never ties
+ * up the common pool. At most {@value #REFRESH_QUEUE_SIZE} refreshes wait for them; past that a refresh is
+ * skipped and the entry keeps its value until it is next read or expires.
+ */
+public class CachingCreditModifierProvider implements CreditModifierProvider, MeterBinder, AutoCloseable {
+
+    static final int REFRESH_QUEUE_SIZE = 1024;
+
+    private final LoadingCache<String, Integer> cache;
+    private final Executor executor;
+
+    public CachingCreditModifierProvider(CreditModifierProvider delegate, long maximumSize,
+            Duration expireAfterWrite, Duration refreshAfterWrite, int refreshThreads) {
+        this(delegate, maximumSize, expireAfterWrite, refreshAfterWrite, Ticker.systemTicker(),
+                refreshExecutor(refreshThreads));
+    }
+
+    CachingCreditModifierProvider(CreditModifierProvider delegate, long maximumSize, Duration expireAfterWrite,
+            Duration refreshAfterWrite, Ticker ticker, Executor executor) {
+        this.executor = executor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build(personalCode -> delegate.getCreditModifier(ParsedPersonalCode.parse(personalCode)));
+    }
+
+    @Override
+    public int getCreditModifier(ParsedPersonalCode personalCode) {
+        return cache.get(personalCode.getPersonalCode());
+    }
+
+    /**
+     * Drops every cached modifier when the decision inputs change, right after the decision table is
+     * rebuilt and before cached decisions are dropped.
+     */
+    @EventListener(DecisionInputsChangedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "creditModifiers");
+    }
+
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutorService refreshExecutor(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "credit-modifier-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
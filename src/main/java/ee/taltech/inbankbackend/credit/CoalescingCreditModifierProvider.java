@@ -0,0 +1,24 @@
+package ee.taltech.inbankbackend.credit;
+
+import ee.taltech.inbankbackend.service.RequestCoalescer;
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
+
+/**
+ * Shares one lookup between concurrent requests for the same applicant, so a burst of duplicate
+ * requests costs a single registry round trip.
+ */
+public class CoalescingCreditModifierProvider implements CreditModifierProvider {
+
+    private final CreditModifierProvider delegate;
+    private final RequestCoalescer<String, Integer> coalescer;
+
+    public CoalescingCreditModifierProvider(CreditModifierProvider delegate, Runnable onCoalesced) {
+        this.delegate = delegate;
+        this.coalescer = new RequestCoalescer<>(onCoalesced);
+    }
+
+    @Override
+    public int getCreditModifier(ParsedPersonalCode personalCode) {
+        return coalescer.execute(personalCode.getPersonalCode(), () -> delegate.getCreditModifier(personalCode));
+    }
+}
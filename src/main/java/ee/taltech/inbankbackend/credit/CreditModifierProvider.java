@@ -0,0 +1,14 @@
+package ee.taltech.inbankbackend.credit;
+
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
+
+/**
+ * Looks up the credit modifier for an applicant.
+ *
+ * A modifier of 0 means the applicant has debt and gets no loan. Implementations are called concurrently
+ * and only with personal codes that have already passed validation.
+ */
+public interface CreditModifierProvider {
+
+    int getCreditModifier(ParsedPersonalCode personalCode);
+}
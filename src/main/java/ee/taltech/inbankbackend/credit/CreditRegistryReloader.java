@@ -0,0 +1,38 @@
+package ee.taltech.inbankbackend.credit;
+
+import ee.taltech.inbankbackend.service.DecisionInputsChangedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the registry file for changes every {@code decision.credit-modifier.file-reload-interval} and
+ * publishes a {@link DecisionInputsChangedEvent} after reloading it.
+ */
+@Component
+@ConditionalOnProperty(name = "decision.credit-modifier.source", havingValue = "file")
+public class CreditRegistryReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditRegistryReloader.class);
+
+    private final FileCreditModifierProvider registry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CreditRegistryReloader(FileCreditModifierProvider registry, ApplicationEventPublisher eventPublisher) {
+        this.registry = registry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(initialDelayString = "${decision.credit-modifier.file-reload-interval:PT10S}",
+            fixedDelayString = "${decision.credit-modifier.file-reload-interval:PT10S}")
+    public void reloadIfModified() {
+        if (registry.reloadIfModified()) {
+            log.info("Reloaded {} credit modifiers from {}", registry.size(), registry.getDescription());
+            eventPublisher.publishEvent(new DecisionInputsChangedEvent(this));
+        }
+    }
+}
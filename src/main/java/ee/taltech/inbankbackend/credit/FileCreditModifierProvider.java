@@ -0,0 +1,112 @@
+package ee.taltech.inbankbackend.credit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Reads credit modifiers from a local registry file, a stand-in for the credit registry when running
+ * locally.
+ *
+ * Each line holds {@code personalCode,creditModifier}; blank lines and lines starting with {@code #} are
+ * skipped. Applicants missing from the file have no registry record and get a modifier of 0. An optional
+ * latency is added to every lookup to mimic the registry round trip. {@link #reloadIfModified()} swaps in
+ * the file's new contents after it has been edited.
+ */
+public class FileCreditModifierProvider implements CreditModifierProvider {
+
+    private final Resource registry;
+    private final long latencyNanos;
+    private volatile Map<String, Integer> creditModifiers;
+    private long lastModified;
+
+    public FileCreditModifierProvider(Resource registry, Duration latency) {
+        this.registry = registry;
+        this.latencyNanos = latency.toNanos();
+        this.lastModified = lastModified(registry);
+        this.creditModifiers = load(registry);
+    }
+
+    @Override
+    public int getCreditModifier(ParsedPersonalCode personalCode) {
+        if (latencyNanos > 0) {
+            sleep();
+        }
+        Integer creditModifier = creditModifiers.get(personalCode.getPersonalCode());
+        return creditModifier == null ? 0 : creditModifier;
+    }
+
+    public int size() {
+        return creditModifiers.size();
+    }
+
+    public String getDescription() {
+        return registry.getDescription();
+    }
+
+    /**
+     * Reads the file again when its modification time has changed, and returns whether it did.
+     */
+    public synchronized boolean reloadIfModified() {
+        long modified = lastModified(registry);
+        if (modified == lastModified) {
+            return false;
+        }
+        creditModifiers = load(registry);
+        lastModified = modified;
+        return true;
+    }
+
+    private static long lastModified(Resource registry) {
+        try {
+            return registry.lastModified();
+        } catch (IOException e) {
+            // Resources inside a jar have no modification time and are never reloaded
+            return 0;
+        }
+    }
+
+    private void sleep() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(latencyNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, Integer> load(Resource registry) {
+        Map<String, Integer> creditModifiers = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(registry.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                if (comma < 0) {
+                    throw new IllegalStateException("Missing credit modifier on line " + lineNumber + " of "
+                            + registry.getDescription());
+                }
+                creditModifiers.put(line.substring(0, comma).strip(),
+                        Integer.parseInt(line.substring(comma + 1).strip()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + registry.getDescription(), e);
+        }
+        return Map.copyOf(creditModifiers);
+    }
+}
@@ -0,0 +1,23 @@
+package ee.taltech.inbankbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Holds how a decision was reached, for responses requested with {@code explain=true}: the applicant's
+ * credit modifier and the policy segment it belongs to, the credit score of the requested loan and of the
+ * granted one, and by how many months the period was extended.
+ *
+ * It is filled in by the decision engine while it decides, so nothing is evaluated twice. Values that do
+ * not apply to the outcome, such as the granted score of a rejection or the segment of a registry modifier
+ * that no segment has, stay null.
+ */
+@Getter
+@Setter
+public class DecisionExplanation {
+    private Integer creditModifier;
+    private Integer creditSegment;
+    private Double requestedScore;
+    private Double grantedScore;
+    private Integer periodsExtended;
+}
@@ -1,17 +1,20 @@
 package ee.taltech.inbankbackend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.stereotype.Component;
 
 /**
  * Holds the response data of the REST endpoint.
  */
 @Getter
 @Setter
-@Component
 public class DecisionResponseDTO {
     private Integer loanAmount;
     private Integer loanPeriod;
     private String errorMessage;
+
+    // Only present when the request asked for it
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DecisionExplanation explanation;
 }
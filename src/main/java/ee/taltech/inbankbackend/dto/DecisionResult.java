@@ -0,0 +1,43 @@
+package ee.taltech.inbankbackend.dto;
+
+import lombok.Getter;
+
+/**
+ * Holds the outcome of a loan decision: either an approved amount and period, or a rejection reason.
+ *
+ * Rejections are normal business outcomes, so they are returned instead of thrown. Every rejection
+ * without loan details is a shared constant, which makes the rejection path allocation-free.
+ */
+@Getter
+public final class DecisionResult {
+
+    private static final DecisionResult[] REJECTIONS = new DecisionResult[RejectionReason.values().length];
+
+    static {
+        for (RejectionReason reason : RejectionReason.values()) {
+            REJECTIONS[reason.ordinal()] = new DecisionResult(0, 0, reason);
+        }
+    }
+
+    private final int loanAmount;
+    private final int loanPeriod;
+    private final RejectionReason rejectionReason;
+
+    private DecisionResult(int loanAmount, int loanPeriod, RejectionReason rejectionReason) {
+        this.loanAmount = loanAmount;
+        this.loanPeriod = loanPeriod;
+        this.rejectionReason = rejectionReason;
+    }
+
+    public static DecisionResult approved(int loanAmount, int loanPeriod) {
+        return new DecisionResult(loanAmount, loanPeriod, null);
+    }
+
+    public static DecisionResult rejected(RejectionReason reason) {
+        return REJECTIONS[reason.ordinal()];
+    }
+
+    public boolean isApproved() {
+        return rejectionReason == null;
+    }
+}
@@ -0,0 +1,16 @@
+package ee.taltech.inbankbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Holds the response data of the loan offers endpoint: the highest approvable amount for every loan
+ * period as two parallel arrays, or an error message.
+ */
+@Getter
+@Setter
+public class LoanOffersDTO {
+    private int[] loanPeriods;
+    private int[] loanAmounts;
+    private String errorMessage;
+}
@@ -0,0 +1,52 @@
+package ee.taltech.inbankbackend.dto;
+
+import java.util.Arrays;
+
+import lombok.Getter;
+
+/**
+ * Holds every loan offer for an applicant: the highest approvable amount for each loan period, or a
+ * rejection reason.
+ *
+ * The two arrays run in parallel and an amount of 0 means nothing is approvable for that period. The
+ * offers only depend on the credit modifier, so one instance is shared by every applicant with the same
+ * modifier; the arrays must not be modified. The entity tag is derived from the offers and changes
+ * whenever any offer does.
+ */
+@Getter
+public final class LoanOffersResult {
+
+    private static final LoanOffersResult[] REJECTIONS = new LoanOffersResult[RejectionReason.values().length];
+
+    static {
+        for (RejectionReason reason : RejectionReason.values()) {
+            REJECTIONS[reason.ordinal()] = new LoanOffersResult(null, null, null, reason);
+        }
+    }
+
+    private final int[] loanPeriods;
+    private final int[] loanAmounts;
+    private final String entityTag;
+    private final RejectionReason rejectionReason;
+
+    private LoanOffersResult(int[] loanPeriods, int[] loanAmounts, String entityTag,
+            RejectionReason rejectionReason) {
+        this.loanPeriods = loanPeriods;
+        this.loanAmounts = loanAmounts;
+        this.entityTag = entityTag;
+        this.rejectionReason = rejectionReason;
+    }
+
+    public static LoanOffersResult offers(int[] loanPeriods, int[] loanAmounts) {
+        String entityTag = Integer.toHexString(31 * Arrays.hashCode(loanPeriods) + Arrays.hashCode(loanAmounts));
+        return new LoanOffersResult(loanPeriods, loanAmounts, entityTag, null);
+    }
+
+    public static LoanOffersResult rejected(RejectionReason reason) {
+        return REJECTIONS[reason.ordinal()];
+    }
+
+    public boolean isApproved() {
+        return rejectionReason == null;
+    }
+}
@@ -0,0 +1,51 @@
+package ee.taltech.inbankbackend.dto;
+
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+
+import ee.taltech.inbankbackend.exception.InvalidAgeException;
+import ee.taltech.inbankbackend.exception.InvalidLoanAmountException;
+import ee.taltech.inbankbackend.exception.InvalidLoanPeriodException;
+import ee.taltech.inbankbackend.exception.InvalidPersonalCodeException;
+import ee.taltech.inbankbackend.exception.NoValidLoanException;
+
+/**
+ * Why a loan decision request was rejected, with the error message and HTTP status it is answered with.
+ */
+public enum RejectionReason {
+    INVALID_PERSONAL_CODE("Invalid personal ID code!", HttpStatus.BAD_REQUEST, InvalidPersonalCodeException::new),
+    UNKNOWN_CENTURY("Unknown century indicator in personal code", HttpStatus.BAD_REQUEST,
+            InvalidPersonalCodeException::new),
+    INVALID_LOAN_AMOUNT("Invalid loan amount!", HttpStatus.BAD_REQUEST, InvalidLoanAmountException::new),
+    INVALID_LOAN_PERIOD("Invalid loan period!", HttpStatus.BAD_REQUEST, InvalidLoanPeriodException::new),
+    UNDERAGE("Applicant is underage.", HttpStatus.BAD_REQUEST, InvalidAgeException::new),
+    OVERAGE("Applicant exceeds max age.", HttpStatus.BAD_REQUEST, InvalidAgeException::new),
+    DEBT("No valid loan found!", HttpStatus.NOT_FOUND, NoValidLoanException::new),
+    NO_VALID_LOAN("No valid loan found!", HttpStatus.NOT_FOUND, NoValidLoanException::new);
+
+    private final String message;
+    private final HttpStatus status;
+    private final Function<String, RuntimeException> exceptionFactory;
+
+    RejectionReason(String message, HttpStatus status, Function<String, RuntimeException> exceptionFactory) {
+        this.message = message;
+        this.status = status;
+        this.exceptionFactory = exceptionFactory;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Creates the exception this rejection was reported with before rejections became results.
+     */
+    public RuntimeException toException() {
+        return exceptionFactory.apply(message);
+    }
+}
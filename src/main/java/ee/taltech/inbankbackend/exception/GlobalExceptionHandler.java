@@ -3,17 +3,28 @@ package ee.taltech.inbankbackend.exception;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebInputException;
 import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final DecisionMetrics metrics;
+
+    public GlobalExceptionHandler(DecisionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     // Generic fallback handler
     @ExceptionHandler(Exception.class)
     public ResponseEntity<DecisionResponseDTO> handleGenericException(Exception ex) {
+        metrics.error(ex);
         DecisionResponseDTO response = new DecisionResponseDTO();
         response.setLoanAmount(null);
         response.setLoanPeriod(null);
@@ -24,6 +35,7 @@ public class GlobalExceptionHandler {
     // Thrown when the applicant age is under 18 or over expected life expectancy.
     @ExceptionHandler(InvalidAgeException.class)
     public ResponseEntity<DecisionResponseDTO> handleInvalidAgeException(InvalidAgeException ex) {
+        metrics.error(ex);
         DecisionResponseDTO response = new DecisionResponseDTO();
         response.setLoanAmount(null);
         response.setLoanPeriod(null);
@@ -34,6 +46,7 @@ public class GlobalExceptionHandler {
     // Thrown when requested loan amount is invalid.
     @ExceptionHandler(InvalidLoanAmountException.class)
     public ResponseEntity<DecisionResponseDTO> handleInvalidLoanAmountException(InvalidLoanAmountException ex) {
+        metrics.error(ex);
         DecisionResponseDTO response = new DecisionResponseDTO();
         response.setLoanAmount(null);
         response.setLoanPeriod(null);
@@ -44,6 +57,7 @@ public class GlobalExceptionHandler {
     // Thrown when requested loan period is invalid.
     @ExceptionHandler(InvalidLoanPeriodException.class)
     public ResponseEntity<DecisionResponseDTO> handleInvalidLoanPeriodException(InvalidLoanPeriodException ex) {
+        metrics.error(ex);
         DecisionResponseDTO response = new DecisionResponseDTO();
         response.setLoanAmount(null);
         response.setLoanPeriod(null);
@@ -54,6 +68,7 @@ public class GlobalExceptionHandler {
     // Thrown when provided personal ID code is invalid.
     @ExceptionHandler(InvalidPersonalCodeException.class)
     public ResponseEntity<DecisionResponseDTO> handleInvalidPersonalCodeException(InvalidPersonalCodeException ex) {
+        metrics.error(ex);
         DecisionResponseDTO response = new DecisionResponseDTO();
         response.setLoanAmount(null);
         response.setLoanPeriod(null);
@@ -64,6 +79,7 @@ public class GlobalExceptionHandler {
     // Thrown when no valid loan amount can be given.
     @ExceptionHandler(NoValidLoanException.class)
     public ResponseEntity<DecisionResponseDTO> handleNoValidLoanException(NoValidLoanException ex) {
+        metrics.error(ex);
         DecisionResponseDTO response = new DecisionResponseDTO();
         response.setLoanAmount(null);
         response.setLoanPeriod(null);
@@ -71,8 +87,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    // Thrown when a batch request is empty or larger than allowed.
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    public ResponseEntity<DecisionResponseDTO> handleInvalidBatchSizeException(InvalidBatchSizeException ex) {
+        metrics.error(ex);
+        DecisionResponseDTO response = new DecisionResponseDTO();
+        response.setLoanAmount(null);
+        response.setLoanPeriod(null);
+        response.setErrorMessage(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    // Thrown when the decision cannot be recorded in the decision journal, so it must not be served.
+    @ExceptionHandler(JournalUnavailableException.class)
+    public ResponseEntity<DecisionResponseDTO> handleJournalUnavailableException(JournalUnavailableException ex) {
+        metrics.error(ex);
+        DecisionResponseDTO response = new DecisionResponseDTO();
+        response.setLoanAmount(null);
+        response.setLoanPeriod(null);
+        response.setErrorMessage("Service unavailable, try again later");
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Thrown when the request body is not valid JSON or binary decision message, or a required header is
+    // missing, by the servlet and the reactive controller respectively.
+    @ExceptionHandler({HttpMessageNotReadableException.class, MissingRequestHeaderException.class,
+            ServerWebInputException.class})
+    public ResponseEntity<DecisionResponseDTO> handleNotReadableException(Exception ex) {
+        metrics.error(ex);
+        DecisionResponseDTO response = new DecisionResponseDTO();
+        response.setLoanAmount(null);
+        response.setLoanPeriod(null);
+        response.setErrorMessage("Invalid request");
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<DecisionResponseDTO> handleValidationException(MethodArgumentNotValidException ex) {
+        metrics.error(ex);
         String errorMessage = ex.getBindingResult()
             .getFieldErrors()
             .stream()
@@ -0,0 +1,28 @@
+package ee.taltech.inbankbackend.exception;
+
+/**
+ * Thrown when a batch request is empty or larger than allowed.
+ */
+public class InvalidBatchSizeException extends RuntimeException {
+    private final String message;
+    private final Throwable cause;
+
+    public InvalidBatchSizeException(String message) {
+        this(message, null);
+    }
+
+    public InvalidBatchSizeException(String message, Throwable cause) {
+        this.message = message;
+        this.cause = cause;
+    }
+
+    @Override
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,28 @@
+package ee.taltech.inbankbackend.exception;
+
+/**
+ * Thrown when a decision policy is malformed or its rules contradict each other.
+ */
+public class InvalidPolicyException extends RuntimeException {
+    private final String message;
+    private final Throwable cause;
+
+    public InvalidPolicyException(String message) {
+        this(message, null);
+    }
+
+    public InvalidPolicyException(String message, Throwable cause) {
+        this.message = message;
+        this.cause = cause;
+    }
+
+    @Override
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,29 @@
+package ee.taltech.inbankbackend.exception;
+
+/**
+ * Thrown when a decision cannot be recorded in the decision journal, because it stayed full for too long
+ * or its writer has stopped. The decision is not served.
+ */
+public class JournalUnavailableException extends RuntimeException {
+    private final String message;
+    private final Throwable cause;
+
+    public JournalUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public JournalUnavailableException(String message, Throwable cause) {
+        this.message = message;
+        this.cause = cause;
+    }
+
+    @Override
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
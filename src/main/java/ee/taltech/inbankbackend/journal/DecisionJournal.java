@@ -0,0 +1,197 @@
+package ee.taltech.inbankbackend.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.exception.JournalUnavailableException;
+import ee.taltech.inbankbackend.journal.JournalRecord.Outcome;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Keeps every decision in an append-only journal on disk, for as long as the segment files are kept.
+ *
+ * Request threads only encode the record into a {@link RecordRing} slot; a single background thread
+ * copies records into the memory-mapped segments of a {@link JournalSegmentWriter}. Records are forced
+ * to disk in batches, once {@code decision.journal.sync-batch} records are waiting or
+ * {@code decision.journal.sync-interval} has passed.
+ *
+ * The response does not wait for any of this, so a decision may already have been served when its
+ * record is lost. A crash of the process loses the records still in the ring, up to
+ * {@code decision.journal.buffer-records}; what reached the mapped segments survives in the page cache.
+ * A crash of the machine loses those plus the records of one unsynced batch.
+ *
+ * No decision is served without its record being queued. When the ring is full, because the disk cannot
+ * keep up, request threads wait for the writer to free a slot; one that is still waiting after
+ * {@code decision.journal.append-timeout} gets a {@link JournalUnavailableException}, answered with 503.
+ * If the writer fails, the service reports itself not ready and every later append fails the same way.
+ */
+@Component
+@ConditionalOnProperty(name = "decision.journal.enabled", havingValue = "true")
+public class DecisionJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionJournal.class);
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecordRing ring;
+    private final JournalSegmentWriter writer;
+    private final long firstSequence;
+    private final int syncBatch;
+    private final long syncIntervalNanos;
+    private final long appendTimeoutNanos;
+    private final Counter written;
+    private final Counter waited;
+    private final Counter rejected;
+    private final Timer syncs;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+    private volatile Exception failure;
+
+    public DecisionJournal(Clock clock, ApplicationEventPublisher eventPublisher, MeterRegistry registry,
+            @Value("${decision.journal.directory:journal}") String directory,
+            @Value("${decision.journal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${decision.journal.buffer-records:65536}") int bufferRecords,
+            @Value("${decision.journal.sync-batch:1024}") int syncBatch,
+            @Value("${decision.journal.sync-interval:100ms}") Duration syncInterval,
+            @Value("${decision.journal.append-timeout:500ms}") Duration appendTimeout) throws IOException {
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+        this.ring = new RecordRing(bufferRecords);
+        this.writer = new JournalSegmentWriter(Path.of(directory), segmentSize.toBytes(), clock);
+        this.firstSequence = writer.nextSequence();
+        this.syncBatch = syncBatch;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.appendTimeoutNanos = appendTimeout.toNanos();
+
+        written = Counter.builder("decision.journal.records")
+                .description("Decisions written to the journal")
+                .register(registry);
+        waited = Counter.builder("decision.journal.waits")
+                .description("Decisions that waited for room in the journal buffer")
+                .register(registry);
+        rejected = Counter.builder("decision.journal.rejected")
+                .description("Decisions refused because the journal could not record them")
+                .register(registry);
+        syncs = Timer.builder("decision.journal.sync")
+                .description("Time spent forcing journal records to disk")
+                .register(registry);
+        Gauge.builder("decision.journal.backlog", ring, RecordRing::size)
+                .description("Decisions waiting in the buffer to be written to the journal")
+                .register(registry);
+
+        log.info("Journaling decisions to {} from sequence {}", Path.of(directory).toAbsolutePath(), firstSequence);
+        writerThread = new Thread(this::writeLoop, "decision-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a decision for the journal without waiting for it to be written, only for room in the buffer.
+     *
+     * @param creditModifier the applicant's credit modifier, or -1 when the request was invalid
+     * @throws JournalUnavailableException when the decision cannot be recorded and must not be served
+     */
+    public void append(Outcome outcome, RejectionReason rejectionReason, String personalCode, long loanAmount,
+            int loanPeriod, int creditModifier, int approvedAmount, int approvedPeriod) {
+        if (failure != null) {
+            rejected.increment();
+            throw new JournalUnavailableException("The decision journal has stopped writing", failure);
+        }
+        long slot = ring.claim();
+        if (slot < 0) {
+            slot = awaitSlot();
+        }
+        JournalRecord.encode(ring.slots(), ring.offset(slot), firstSequence + slot, clock.millis(), outcome,
+                rejectionReason, personalCode, loanAmount, loanPeriod, creditModifier, approvedAmount,
+                approvedPeriod);
+        ring.publish(slot);
+    }
+
+    private long awaitSlot() {
+        waited.increment();
+        long deadline = System.nanoTime() + appendTimeoutNanos;
+        long slot;
+        while ((slot = ring.claim()) < 0) {
+            if (failure != null || System.nanoTime() - deadline >= 0) {
+                rejected.increment();
+                throw new JournalUnavailableException("The decision journal is full", failure);
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return slot;
+    }
+
+    private void writeLoop() {
+        int unsynced = 0;
+        long lastSync = System.nanoTime();
+        try {
+            while (running || ring.size() > 0) {
+                int drained = ring.drain(writer::append, DRAIN_BATCH);
+                unsynced += drained;
+                written.increment(drained);
+
+                long now = System.nanoTime();
+                if (unsynced > 0 && (unsynced >= syncBatch || now - lastSync >= syncIntervalNanos)) {
+                    writer.sync();
+                    syncs.record(System.nanoTime() - now, TimeUnit.NANOSECONDS);
+                    unsynced = 0;
+                    lastSync = now;
+                }
+                if (drained == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            log.error("Decision journal stopped writing; decisions are refused until the service is restarted", e);
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.error("Failed to close the decision journal", e);
+            }
+        }
+    }
+
+    /**
+     * Writes and syncs every queued record, then closes the journal.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ee.taltech.inbankbackend.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Exports the decisions of a time range from a journal directory as newline-delimited JSON.
+ *
+ * Usage: {@code JournalExporter <directory> [--from=<instant>] [--to=<instant>] [--format=records|requests]
+ * [--output=<file>]}, with instants in ISO-8601 such as {@code 2026-10-18T00:00:00Z}. The {@code records}
+ * format writes every field of every record; the {@code requests} format writes only the decision
+ * request, so the range can be replayed through {@code DecisionCli} or the decision endpoints. Output goes
+ * to standard output unless a file is given; a summary and any damage found go to standard error.
+ */
+public class JournalExporter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args[0].startsWith("--")) {
+            System.err.println("Usage: JournalExporter <directory> [--from=<instant>] [--to=<instant>] "
+                    + "[--format=records|requests] [--output=<file>]");
+            System.exit(2);
+        }
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        long from = options.containsKey("from") ? Instant.parse(options.get("from")).toEpochMilli() : Long.MIN_VALUE;
+        // Left open, the range ends far enough from the largest timestamp for the reader's skew allowance
+        long to = options.containsKey("to") ? Instant.parse(options.get("to")).toEpochMilli()
+                : Long.MAX_VALUE - JournalReader.CLOCK_SKEW_MILLIS;
+        boolean requestsOnly = switch (options.getOrDefault("format", "records")) {
+            case "records" -> false;
+            case "requests" -> true;
+            default -> throw new IllegalArgumentException("--format must be records or requests");
+        };
+
+        OutputStream output = options.containsKey("output")
+                ? Files.newOutputStream(Path.of(options.get("output")))
+                : System.out;
+        JournalReader.ScanSummary summary;
+        try (JsonGenerator json = new JsonFactory().createGenerator(new BufferedOutputStream(output),
+                JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            summary = new JournalReader(Path.of(args[0])).scan(from, to, record -> {
+                try {
+                    write(json, record, requestsOnly);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        System.err.println("Read " + summary.recordsRead() + " records from " + summary.segments()
+                + " segments, exported " + summary.recordsMatched());
+        summary.problems().forEach(problem -> System.err.println("Damage: " + problem));
+        if (!summary.problems().isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static void write(JsonGenerator json, JournalRecord record, boolean requestOnly) throws IOException {
+        json.writeStartObject();
+        if (!requestOnly) {
+            json.writeNumberField("sequence", record.sequence());
+            json.writeStringField("timestamp", Instant.ofEpochMilli(record.timestampMillis()).toString());
+            json.writeStringField("outcome", record.outcome().name().toLowerCase());
+            json.writeStringField("rejectionReason",
+                    record.rejectionReason() == null ? null : record.rejectionReason().name());
+        }
+        json.writeStringField("personalCode", record.personalCode());
+        json.writeNumberField("loanAmount", record.loanAmount());
+        json.writeNumberField("loanPeriod", record.loanPeriod());
+        if (!requestOnly) {
+            json.writeNumberField("creditModifier", record.creditModifier());
+            json.writeNumberField("approvedAmount", record.approvedAmount());
+            json.writeNumberField("approvedPeriod", record.approvedPeriod());
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+}
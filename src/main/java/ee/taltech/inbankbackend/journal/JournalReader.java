@@ -0,0 +1,95 @@
+package ee.taltech.inbankbackend.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads the records of a journal directory in sequence order, checking every record's checksum and that
+ * sequences run on without gaps from one segment to the next.
+ *
+ * A time range is read without scanning the whole journal: a segment is started after every record of
+ * the segment before it was written, so every segment followed by one started before the range is
+ * skipped. Record timestamps are taken on the request threads and can trail the sequence order by a
+ * moment, so the scan stops only once records are {@link #CLOCK_SKEW_MILLIS} past the range.
+ */
+public class JournalReader {
+
+    static final long CLOCK_SKEW_MILLIS = 1000;
+
+    private final Path directory;
+
+    public JournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Passes every intact record with a timestamp in {@code [fromMillis, toMillis)} to the consumer, oldest
+     * first, and reports what was read along with any damage found.
+     */
+    public ScanSummary scan(long fromMillis, long toMillis, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> segments = JournalSegmentWriter.segments(directory);
+        CRC32C checksum = new CRC32C();
+        List<String> problems = new ArrayList<>();
+        int segmentsRead = 0;
+        long recordsRead = 0;
+        long recordsMatched = 0;
+        long expectedSequence = -1;
+
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && createdMillis(segments.get(i + 1)) < fromMillis) {
+                expectedSequence = -1;
+                continue;
+            }
+            Path file = segments.get(i);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = JournalSegmentWriter.map(channel, FileChannel.MapMode.READ_ONLY, file);
+                segmentsRead++;
+                long sequence = segment.getLong(JournalSegmentWriter.FIRST_SEQUENCE_OFFSET);
+                if (expectedSequence >= 0 && sequence != expectedSequence) {
+                    problems.add("records " + expectedSequence + " to " + (sequence - 1) + " are missing before "
+                            + file.getFileName());
+                }
+
+                int position = JournalSegmentWriter.HEADER_SIZE;
+                while (position < segment.capacity() && JournalRecord.isIntact(segment, position, sequence, checksum)) {
+                    JournalRecord record = JournalRecord.decode(segment, position);
+                    recordsRead++;
+                    if (record.timestampMillis() >= toMillis + CLOCK_SKEW_MILLIS) {
+                        return new ScanSummary(segmentsRead, recordsRead, recordsMatched, problems);
+                    }
+                    if (fromMillis <= record.timestampMillis() && record.timestampMillis() < toMillis) {
+                        consumer.accept(record);
+                        recordsMatched++;
+                    }
+                    position += JournalRecord.SIZE;
+                    sequence++;
+                }
+                if (position < segment.capacity() && !JournalRecord.isEmpty(segment, position)) {
+                    problems.add(file.getFileName() + " has a damaged record at sequence " + sequence);
+                }
+                expectedSequence = sequence;
+            }
+        }
+        return new ScanSummary(segmentsRead, recordsRead, recordsMatched, problems);
+    }
+
+    private static long createdMillis(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return JournalSegmentWriter.map(channel, FileChannel.MapMode.READ_ONLY, file)
+                    .getLong(JournalSegmentWriter.CREATED_OFFSET);
+        }
+    }
+
+    /**
+     * What a scan read: segments opened, intact records read, records within the range, and damage found.
+     */
+    public record ScanSummary(int segments, long recordsRead, long recordsMatched, List<String> problems) {
+    }
+}
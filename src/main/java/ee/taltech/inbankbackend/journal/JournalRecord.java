@@ -0,0 +1,127 @@
+package ee.taltech.inbankbackend.journal;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+import ee.taltech.inbankbackend.dto.RejectionReason;
+
+/**
+ * One decision as kept in the journal: when it was made, its inputs, the credit modifier and the outcome.
+ *
+ * Every record takes {@link #SIZE} bytes, big-endian:
+ * <pre>
+ *  0 i64 sequence         |  8 i64 timestamp, epoch milliseconds
+ * 16 u8  outcome          | 17 u8 rejection reason, ordinal + 1 or 0 | 18 u8 personal code length | 19 unused
+ * 20 16 bytes personal code, ASCII
+ * 36 i64 loan amount      | 44 i32 loan period      | 48 i32 credit modifier, -1 when not looked up
+ * 52 i32 approved amount  | 56 i32 approved period  | 60 i32 CRC-32C of bytes 0 to 59
+ * </pre>
+ * Personal codes are stored in full up to 16 characters, which every valid code fits in; longer input is
+ * cut to its first 16 characters. Characters outside ASCII are stored as
+ * {@code ?}.
+ */
+public record JournalRecord(long sequence, long timestampMillis, Outcome outcome, RejectionReason rejectionReason,
+        String personalCode, long loanAmount, int loanPeriod, int creditModifier, int approvedAmount,
+        int approvedPeriod) {
+
+    public static final int SIZE = 64;
+
+    static final int CHECKSUM_OFFSET = 60;
+
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int OUTCOME_OFFSET = 16;
+    private static final int REASON_OFFSET = 17;
+    private static final int CODE_LENGTH_OFFSET = 18;
+    private static final int CODE_OFFSET = 20;
+    private static final int CODE_CAPACITY = 16;
+    private static final int LOAN_AMOUNT_OFFSET = 36;
+    private static final int LOAN_PERIOD_OFFSET = 44;
+    private static final int CREDIT_MODIFIER_OFFSET = 48;
+    private static final int APPROVED_AMOUNT_OFFSET = 52;
+    private static final int APPROVED_PERIOD_OFFSET = 56;
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    public enum Outcome {
+        APPROVED, REJECTED, INVALID
+    }
+
+    /**
+     * Writes a record at {@code offset} without allocating, leaving the checksum to
+     * {@link #seal(ByteBuffer, int, CRC32C)}.
+     */
+    static void encode(ByteBuffer target, int offset, long sequence, long timestampMillis, Outcome outcome,
+            RejectionReason rejectionReason, String personalCode, long loanAmount, int loanPeriod,
+            int creditModifier, int approvedAmount, int approvedPeriod) {
+        target.putLong(offset + SEQUENCE_OFFSET, sequence);
+        target.putLong(offset + TIMESTAMP_OFFSET, timestampMillis);
+        target.put(offset + OUTCOME_OFFSET, (byte) outcome.ordinal());
+        target.put(offset + REASON_OFFSET, (byte) (rejectionReason == null ? 0 : rejectionReason.ordinal() + 1));
+        int length = personalCode == null ? 0 : personalCode.length();
+        target.put(offset + CODE_LENGTH_OFFSET, (byte) Math.min(length, 255));
+        for (int i = 0; i < CODE_CAPACITY; i++) {
+            char c = i < length ? personalCode.charAt(i) : 0;
+            target.put(offset + CODE_OFFSET + i, (byte) (c < 0x80 ? c : '?'));
+        }
+        target.putLong(offset + LOAN_AMOUNT_OFFSET, loanAmount);
+        target.putInt(offset + LOAN_PERIOD_OFFSET, loanPeriod);
+        target.putInt(offset + CREDIT_MODIFIER_OFFSET, creditModifier);
+        target.putInt(offset + APPROVED_AMOUNT_OFFSET, approvedAmount);
+        target.putInt(offset + APPROVED_PERIOD_OFFSET, approvedPeriod);
+    }
+
+    /**
+     * Computes and stores the checksum of an encoded record held in an array-backed buffer.
+     */
+    static void seal(ByteBuffer record, int offset, CRC32C checksum) {
+        checksum.reset();
+        checksum.update(record.array(), record.arrayOffset() + offset, CHECKSUM_OFFSET);
+        record.putInt(offset + CHECKSUM_OFFSET, (int) checksum.getValue());
+    }
+
+    /**
+     * Returns whether the bytes at {@code offset} hold a complete record with the expected sequence.
+     */
+    static boolean isIntact(ByteBuffer source, int offset, long expectedSequence, CRC32C checksum) {
+        if (source.getLong(offset + SEQUENCE_OFFSET) != expectedSequence) {
+            return false;
+        }
+        checksum.reset();
+        checksum.update(source.slice(offset, CHECKSUM_OFFSET));
+        return source.getInt(offset + CHECKSUM_OFFSET) == (int) checksum.getValue();
+    }
+
+    /**
+     * Returns whether the bytes at {@code offset} were never written.
+     */
+    static boolean isEmpty(ByteBuffer source, int offset) {
+        for (int i = 0; i < SIZE; i += Long.BYTES) {
+            if (source.getLong(offset + i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static JournalRecord decode(ByteBuffer source, int offset) {
+        int reason = Byte.toUnsignedInt(source.get(offset + REASON_OFFSET));
+        int length = Math.min(Byte.toUnsignedInt(source.get(offset + CODE_LENGTH_OFFSET)), CODE_CAPACITY);
+        char[] code = new char[length];
+        for (int i = 0; i < length; i++) {
+            code[i] = (char) source.get(offset + CODE_OFFSET + i);
+        }
+        return new JournalRecord(
+                source.getLong(offset + SEQUENCE_OFFSET),
+                source.getLong(offset + TIMESTAMP_OFFSET),
+                OUTCOMES[source.get(offset + OUTCOME_OFFSET)],
+                reason == 0 ? null : REASONS[reason - 1],
+                new String(code),
+                source.getLong(offset + LOAN_AMOUNT_OFFSET),
+                source.getInt(offset + LOAN_PERIOD_OFFSET),
+                source.getInt(offset + CREDIT_MODIFIER_OFFSET),
+                source.getInt(offset + APPROVED_AMOUNT_OFFSET),
+                source.getInt(offset + APPROVED_PERIOD_OFFSET));
+    }
+}
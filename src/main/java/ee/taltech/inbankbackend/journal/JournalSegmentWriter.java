@@ -0,0 +1,178 @@
+package ee.taltech.inbankbackend.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends journal records to memory-mapped segment files of a fixed size, starting a new segment when
+ * the current one is full.
+ *
+ * A segment is named after the sequence of its first record, {@code journal-<sequence>.seg}, and starts
+ * with a {@link #HEADER_SIZE} byte header: the magic {@code IBJL}, the format version, the record size,
+ * the first sequence and the time the segment was started. Records follow back to back. Writes land in
+ * the page cache; {@link #sync()} forces the records written since the last sync to disk.
+ *
+ * On opening, the newest segment is scanned for the last intact record and writing carries on after it,
+ * so a record torn by a crash is overwritten and sequences stay gapless. Not thread-safe: one thread
+ * writes.
+ */
+public class JournalSegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x49424A4C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    static final int VERSION_OFFSET = 4;
+    static final int RECORD_SIZE_OFFSET = 8;
+    static final int FIRST_SEQUENCE_OFFSET = 16;
+    static final int CREATED_OFFSET = 24;
+
+    private static final Logger log = LoggerFactory.getLogger(JournalSegmentWriter.class);
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Clock clock;
+    private final CRC32C checksum = new CRC32C();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private int syncedPosition;
+    private long nextSequence;
+
+    public JournalSegmentWriter(Path directory, long segmentBytes, Clock clock) throws IOException {
+        if (segmentBytes < HEADER_SIZE + JournalRecord.SIZE || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segments must hold at least one record and be under 2 GB, "
+                    + "got " + segmentBytes + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = HEADER_SIZE + (segmentBytes - HEADER_SIZE) / JournalRecord.SIZE * JournalRecord.SIZE;
+        this.clock = clock;
+
+        Files.createDirectories(directory);
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            open(0);
+        } else {
+            recover(segments.get(segments.size() - 1));
+        }
+    }
+
+    /**
+     * Returns the sequence the next appended record must carry.
+     */
+    public long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Seals and appends the encoded record at {@code offset} of an array-backed buffer.
+     */
+    public void append(ByteBuffer record, int offset) throws IOException {
+        if (position == segment.capacity()) {
+            rotate();
+        }
+        JournalRecord.seal(record, offset, checksum);
+        segment.put(position, record, offset, JournalRecord.SIZE);
+        position += JournalRecord.SIZE;
+        nextSequence++;
+    }
+
+    /**
+     * Forces the records appended since the last sync to disk.
+     */
+    public void sync() {
+        if (position > syncedPosition) {
+            segment.force(syncedPosition, position - syncedPosition);
+            syncedPosition = position;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    /**
+     * Returns the segment files in a directory, oldest first.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    /**
+     * Maps a segment and checks its header, throwing {@link IOException} when it is not a journal segment.
+     */
+    static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, Path file) throws IOException {
+        MappedByteBuffer mapped = channel.map(mode, 0, channel.size());
+        if (mapped.capacity() < HEADER_SIZE || mapped.getInt(0) != MAGIC
+                || mapped.getInt(VERSION_OFFSET) != VERSION
+                || mapped.getInt(RECORD_SIZE_OFFSET) != JournalRecord.SIZE) {
+            throw new IOException(file + " is not a version " + VERSION + " journal segment");
+        }
+        return mapped;
+    }
+
+    private void rotate() throws IOException {
+        close();
+        open(nextSequence);
+    }
+
+    private void open(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segment.putInt(0, MAGIC);
+        segment.putInt(VERSION_OFFSET, VERSION);
+        segment.putInt(RECORD_SIZE_OFFSET, JournalRecord.SIZE);
+        segment.putLong(FIRST_SEQUENCE_OFFSET, firstSequence);
+        segment.putLong(CREATED_OFFSET, clock.millis());
+        segment.force(0, HEADER_SIZE);
+        position = HEADER_SIZE;
+        syncedPosition = HEADER_SIZE;
+        nextSequence = firstSequence;
+    }
+
+    private void recover(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = map(channel, FileChannel.MapMode.READ_WRITE, file);
+        position = HEADER_SIZE;
+        nextSequence = segment.getLong(FIRST_SEQUENCE_OFFSET);
+        while (position < segment.capacity()
+                && JournalRecord.isIntact(segment, position, nextSequence, checksum)) {
+            position += JournalRecord.SIZE;
+            nextSequence++;
+        }
+        syncedPosition = position;
+        if (position < segment.capacity() && !JournalRecord.isEmpty(segment, position)) {
+            log.warn("Journal segment {} ends in a torn record at sequence {}; it will be overwritten",
+                    file.getFileName(), nextSequence);
+        }
+    }
+}
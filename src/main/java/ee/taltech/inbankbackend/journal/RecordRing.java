@@ -0,0 +1,96 @@
+package ee.taltech.inbankbackend.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded ring of fixed-size record slots with many producers and a single consumer.
+ *
+ * A producer claims the next sequence with one compare-and-set, encodes its record straight into the slot
+ * and publishes it; nothing is allocated and no lock is taken. The consumer takes published slots strictly
+ * in sequence order and frees them once it has copied them out. When every slot is claimed and not yet
+ * consumed, {@link #claim()} fails at once instead of waiting, so producers never block on the consumer.
+ */
+final class RecordRing {
+
+    private final int capacity;
+    private final int mask;
+    private final ByteBuffer slots;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    RecordRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = ByteBuffer.allocate(capacity * JournalRecord.SIZE);
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Claims the next sequence, or returns -1 when the ring is full.
+     */
+    long claim() {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= capacity) {
+                return -1;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        return sequence;
+    }
+
+    ByteBuffer slots() {
+        return slots;
+    }
+
+    int offset(long sequence) {
+        return (int) (sequence & mask) * JournalRecord.SIZE;
+    }
+
+    /**
+     * Hands a claimed slot, with its record written, to the consumer.
+     */
+    void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+    }
+
+    /**
+     * Passes up to {@code limit} published slots to the consumer in sequence order and frees them, returning
+     * how many were passed. Must only be called from the consuming thread.
+     */
+    int drain(SlotConsumer consumer, int limit) throws IOException {
+        long next = consumed;
+        int drained = 0;
+        while (drained < limit && published.get((int) (next & mask)) == next) {
+            consumer.accept(slots, offset(next));
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed = next;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns how many slots are claimed and not yet consumed.
+     */
+    int size() {
+        return (int) (claimed.get() - consumed);
+    }
+
+    @FunctionalInterface
+    interface SlotConsumer {
+        void accept(ByteBuffer slots, int offset) throws IOException;
+    }
+}
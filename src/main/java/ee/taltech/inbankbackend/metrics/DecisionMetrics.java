@@ -0,0 +1,164 @@
+package ee.taltech.inbankbackend.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.exception.InvalidAgeException;
+import ee.taltech.inbankbackend.exception.InvalidBatchSizeException;
+import ee.taltech.inbankbackend.exception.InvalidLoanAmountException;
+import ee.taltech.inbankbackend.exception.InvalidLoanPeriodException;
+import ee.taltech.inbankbackend.exception.InvalidPersonalCodeException;
+import ee.taltech.inbankbackend.exception.JournalUnavailableException;
+import ee.taltech.inbankbackend.exception.NoValidLoanException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+/**
+ * Holds every decision meter, registered once at startup.
+ *
+ * Recording only touches pre-built meters, so the hot path never looks up a meter by name or allocates
+ * tags. Durations are passed in as nanoseconds measured by the caller instead of wrapping work in lambdas.
+ */
+@Component
+public class DecisionMetrics {
+
+    private final Timer controllerTimer;
+    private final Timer validationTimer;
+    private final Timer computationTimer;
+    private final Counter approved;
+    private final Counter rejectedWithDebt;
+    private final Counter noValidLoan;
+    private final DistributionSummary periodExtension;
+    private final Map<Class<? extends Exception>, Counter> errors;
+    private final Counter unexpectedErrors;
+    private final Counter[] rejections;
+    private final Counter coalescedDecisions;
+    private final Counter coalescedCreditModifierLookups;
+
+    public DecisionMetrics(MeterRegistry registry) {
+        controllerTimer = Timer.builder("decision.controller")
+                .description("Time spent handling a loan decision request in the controller")
+                .register(registry);
+        validationTimer = Timer.builder("decision.validation")
+                .description("Time spent validating loan decision inputs")
+                .register(registry);
+        computationTimer = Timer.builder("decision.computation")
+                .description("Time spent computing a loan decision after validation")
+                .register(registry);
+
+        approved = outcome(registry, "approved");
+        rejectedWithDebt = outcome(registry, "rejected_with_debt");
+        noValidLoan = outcome(registry, "no_valid_loan");
+
+        periodExtension = DistributionSummary.builder("decision.period.extension")
+                .description("Months the approved loan period was extended past the requested one")
+                .baseUnit("months")
+                // Extensions are whole months, so the 0.5 bucket counts requests approved without any extension
+                .serviceLevelObjectives(0.5, 1, 2, 3, 6, 12, 24, 36, 48)
+                .register(registry);
+
+        errors = Map.of(
+                InvalidPersonalCodeException.class, error(registry, InvalidPersonalCodeException.class),
+                InvalidLoanAmountException.class, error(registry, InvalidLoanAmountException.class),
+                InvalidLoanPeriodException.class, error(registry, InvalidLoanPeriodException.class),
+                InvalidAgeException.class, error(registry, InvalidAgeException.class),
+                InvalidBatchSizeException.class, error(registry, InvalidBatchSizeException.class),
+                NoValidLoanException.class, error(registry, NoValidLoanException.class),
+                JournalUnavailableException.class, error(registry, JournalUnavailableException.class),
+                MethodArgumentNotValidException.class, error(registry, MethodArgumentNotValidException.class));
+        unexpectedErrors = Counter.builder("decision.errors")
+                .description("Loan decision requests answered with an error response")
+                .tag("exception", "unexpected")
+                .register(registry);
+
+        // Rejections are counted under the exception they used to be thrown as, so the series stay the same
+        rejections = new Counter[RejectionReason.values().length];
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejections[reason.ordinal()] = errors.get(reason.toException().getClass());
+        }
+
+        coalescedDecisions = coalesced(registry, "decision");
+        coalescedCreditModifierLookups = coalesced(registry, "credit_modifier");
+    }
+
+    public void recordController(long nanos) {
+        controllerTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordValidation(long nanos) {
+        validationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordComputation(long nanos) {
+        computationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void approved(int requestedPeriod, int approvedPeriod) {
+        approved.increment();
+        periodExtension.record(approvedPeriod - requestedPeriod);
+    }
+
+    public void rejectedWithDebt() {
+        rejectedWithDebt.increment();
+    }
+
+    public void noValidLoan() {
+        noValidLoan.increment();
+    }
+
+    /**
+     * Counts a rejection answered with an error response.
+     */
+    public void rejected(RejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    /**
+     * Counts an exception turned into an error response by the exception handler.
+     */
+    public void error(Exception exception) {
+        errors.getOrDefault(exception.getClass(), unexpectedErrors).increment();
+    }
+
+    /**
+     * Counts a decision that was not computed because an identical one was already in flight.
+     */
+    public void coalescedDecision() {
+        coalescedDecisions.increment();
+    }
+
+    /**
+     * Counts a credit modifier lookup that shared a lookup already in flight for the same applicant.
+     */
+    public void coalescedCreditModifierLookup() {
+        coalescedCreditModifierLookups.increment();
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("decision.outcomes")
+                .description("Loan decisions by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter error(MeterRegistry registry, Class<? extends Exception> exception) {
+        return Counter.builder("decision.errors")
+                .description("Loan decision requests answered with an error response")
+                .tag("exception", exception.getSimpleName())
+                .register(registry);
+    }
+
+    private static Counter coalesced(MeterRegistry registry, String stage) {
+        return Counter.builder("decision.coalesced")
+                .description("Requests that shared the result of an identical request already in flight")
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
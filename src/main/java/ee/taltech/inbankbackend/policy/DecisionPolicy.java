@@ -0,0 +1,170 @@
+package ee.taltech.inbankbackend.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.exception.InvalidPolicyException;
+import lombok.Getter;
+
+/**
+ * An immutable, validated set of decision rules: loan amount and period bounds, the credit segments and
+ * their modifiers, the credit score a loan needs to be approved, and the applicant age limits.
+ *
+ * Policies are read from properties with {@link #fromProperties(Properties)}; every key left out keeps
+ * its value from {@link DecisionEngineConstants}. Construction checks that the rules are consistent, so a
+ * policy that exists is always safe to decide with.
+ */
+@Getter
+public final class DecisionPolicy {
+
+    private static final DecisionPolicy DEFAULTS = fromProperties(new Properties());
+
+    private final int minimumLoanAmount;
+    private final int maximumLoanAmount;
+    private final int loanAmountStep;
+    private final int minimumLoanPeriod;
+    private final int maximumLoanPeriod;
+    private final int debtSegmentLimit;
+    private final int segment1Limit;
+    private final int segment2Limit;
+    private final int segment1CreditModifier;
+    private final int segment2CreditModifier;
+    private final int segment3CreditModifier;
+    private final int minimumAge;
+    private final int lifeExpectancy;
+    private final double minimumCreditScore;
+
+    private DecisionPolicy(Properties properties) {
+        minimumLoanAmount = read(properties, "loan.amount.minimum", DecisionEngineConstants.MINIMUM_LOAN_AMOUNT);
+        maximumLoanAmount = read(properties, "loan.amount.maximum", DecisionEngineConstants.MAXIMUM_LOAN_AMOUNT);
+        loanAmountStep = read(properties, "loan.amount.step", DecisionEngineConstants.LOAN_AMOUNT_STEP);
+        minimumLoanPeriod = read(properties, "loan.period.minimum", DecisionEngineConstants.MINIMUM_LOAN_PERIOD);
+        maximumLoanPeriod = read(properties, "loan.period.maximum", DecisionEngineConstants.MAXIMUM_LOAN_PERIOD);
+        debtSegmentLimit = read(properties, "segment.debt.limit", DecisionEngineConstants.DEBT_SEGMENT_LIMIT);
+        segment1Limit = read(properties, "segment.1.limit", DecisionEngineConstants.SEGMENT_1_LIMIT);
+        segment2Limit = read(properties, "segment.2.limit", DecisionEngineConstants.SEGMENT_2_LIMIT);
+        segment1CreditModifier = read(properties, "segment.1.credit-modifier",
+                DecisionEngineConstants.SEGMENT_1_CREDIT_MODIFIER);
+        segment2CreditModifier = read(properties, "segment.2.credit-modifier",
+                DecisionEngineConstants.SEGMENT_2_CREDIT_MODIFIER);
+        segment3CreditModifier = read(properties, "segment.3.credit-modifier",
+                DecisionEngineConstants.SEGMENT_3_CREDIT_MODIFIER);
+        minimumAge = read(properties, "applicant.age.minimum", DecisionEngineConstants.MINIMUM_AGE);
+        lifeExpectancy = read(properties, "applicant.life-expectancy", DecisionEngineConstants.LIFE_EXPECTANCY);
+        minimumCreditScore = readDecimal(properties, "score.minimum", DecisionEngineConstants.MINIMUM_CREDIT_SCORE);
+        validate();
+    }
+
+    /**
+     * Returns the policy made of the {@link DecisionEngineConstants} defaults.
+     */
+    public static DecisionPolicy defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Reads a policy from properties, throwing {@link InvalidPolicyException} with every problem found
+     * when a value is not a number or the rules contradict each other.
+     */
+    public static DecisionPolicy fromProperties(Properties properties) {
+        return new DecisionPolicy(properties);
+    }
+
+    /**
+     * Returns the credit modifiers of the three segments, lowest segment first.
+     */
+    public int[] creditModifiers() {
+        return new int[] {segment1CreditModifier, segment2CreditModifier, segment3CreditModifier};
+    }
+
+    /**
+     * Returns the credit segment of the last four digits of a personal code: 0 for debt, otherwise 1 to 3.
+     */
+    public int creditSegment(int segment) {
+        if (segment < debtSegmentLimit) {
+            return 0;
+        } else if (segment < segment1Limit) {
+            return 1;
+        } else if (segment < segment2Limit) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Returns the credit modifier of a credit segment: 0 for debt, otherwise that of segment 1 to 3.
+     */
+    public int creditModifier(int creditSegment) {
+        return switch (creditSegment) {
+            case 0 -> 0;
+            case 1 -> segment1CreditModifier;
+            case 2 -> segment2CreditModifier;
+            default -> segment3CreditModifier;
+        };
+    }
+
+    /**
+     * Returns the oldest age at which an applicant can still take the longest loan.
+     */
+    public int maximumAge() {
+        return lifeExpectancy - maximumLoanPeriod / 12;
+    }
+
+    private void validate() {
+        List<String> problems = new ArrayList<>();
+        check(problems, minimumLoanAmount > 0, "loan.amount.minimum must be positive");
+        check(problems, maximumLoanAmount >= minimumLoanAmount,
+                "loan.amount.maximum must not be below loan.amount.minimum");
+        check(problems, loanAmountStep > 0, "loan.amount.step must be positive");
+        check(problems, loanAmountStep > 0 && (maximumLoanAmount - minimumLoanAmount) % loanAmountStep == 0,
+                "loan.amount.step must divide the range between the minimum and maximum amount");
+        check(problems, minimumLoanPeriod > 0, "loan.period.minimum must be positive");
+        check(problems, maximumLoanPeriod >= minimumLoanPeriod,
+                "loan.period.maximum must not be below loan.period.minimum");
+        check(problems, 0 <= debtSegmentLimit && debtSegmentLimit <= segment1Limit
+                        && segment1Limit <= segment2Limit && segment2Limit <= 10000,
+                "segment limits must be ordered debt <= 1 <= 2 and lie between 0 and 10000");
+        check(problems, segment1CreditModifier > 0 && segment2CreditModifier > 0 && segment3CreditModifier > 0,
+                "segment credit modifiers must be positive");
+        check(problems, minimumCreditScore > 0 && Double.isFinite(minimumCreditScore),
+                "score.minimum must be positive");
+        check(problems, minimumAge >= 0, "applicant.age.minimum must not be negative");
+        check(problems, maximumAge() >= minimumAge,
+                "applicant.life-expectancy leaves no age at which the longest loan can be taken");
+        if (!problems.isEmpty()) {
+            throw new InvalidPolicyException(String.join("; ", problems));
+        }
+    }
+
+    private static void check(List<String> problems, boolean valid, String problem) {
+        if (!valid) {
+            problems.add(problem);
+        }
+    }
+
+    private static int read(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.strip());
+        } catch (NumberFormatException e) {
+            throw new InvalidPolicyException(key + " is not a whole number: " + value);
+        }
+    }
+
+    private static double readDecimal(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.strip());
+        } catch (NumberFormatException e) {
+            throw new InvalidPolicyException(key + " is not a number: " + value);
+        }
+    }
+}
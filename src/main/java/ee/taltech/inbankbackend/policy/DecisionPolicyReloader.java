@@ -0,0 +1,79 @@
+package ee.taltech.inbankbackend.policy;
+
+import java.io.IOException;
+
+import ee.taltech.inbankbackend.service.DecisionInputsChangedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the policy file for changes every {@code decision.policy.reload-interval}.
+ *
+ * A changed file is loaded and validated on the scheduler thread. A valid policy replaces the one in the
+ * store and a {@link DecisionInputsChangedEvent} is published, so the decision table is rebuilt and the
+ * caches are cleared off the request path. An invalid policy is logged and the current one stays in force;
+ * the file is read again at every check until it loads, so one caught half-written is picked up once it is
+ * complete even if its modification time does not change again.
+ */
+@Component
+public class DecisionPolicyReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionPolicyReloader.class);
+
+    private final Resource file;
+    private final DecisionPolicyStore store;
+    private final ApplicationEventPublisher eventPublisher;
+    private long lastModified;
+    private long lastRejected = -1;
+
+    public DecisionPolicyReloader(
+            @Value("${decision.policy.file:classpath:decision-policy.properties}") Resource file,
+            DecisionPolicyStore store,
+            ApplicationEventPublisher eventPublisher) {
+        this.file = file;
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+        this.lastModified = lastModified(file);
+    }
+
+    @Scheduled(initialDelayString = "${decision.policy.reload-interval:PT10S}",
+            fixedDelayString = "${decision.policy.reload-interval:PT10S}")
+    public void reloadIfModified() {
+        long modified = lastModified(file);
+        if (modified == lastModified) {
+            return;
+        }
+
+        DecisionPolicy policy;
+        try {
+            policy = DecisionPolicyStore.load(file);
+        } catch (RuntimeException e) {
+            // Logged once per version of the file, though it is retried at every check
+            if (modified != lastRejected) {
+                log.error("Ignoring invalid decision policy {}, keeping the current one: {}",
+                        file.getDescription(), e.getMessage());
+                lastRejected = modified;
+            }
+            return;
+        }
+        lastModified = modified;
+        store.update(policy);
+        log.info("Reloaded decision policy from {}", file.getDescription());
+        eventPublisher.publishEvent(new DecisionInputsChangedEvent(this));
+    }
+
+    private static long lastModified(Resource file) {
+        try {
+            return file.lastModified();
+        } catch (IOException e) {
+            // Resources inside a jar have no modification time and are never reloaded
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ee.taltech.inbankbackend.policy;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Holds the decision policy in force.
+ *
+ * The policy is an immutable snapshot in a volatile field: readers take it with one read and never lock,
+ * and {@link #update(DecisionPolicy)} replaces it in a single write, so a reader sees either the old or
+ * the new policy but never a mix.
+ */
+public class DecisionPolicyStore {
+
+    private volatile DecisionPolicy policy;
+
+    public DecisionPolicyStore(DecisionPolicy policy) {
+        this.policy = policy;
+    }
+
+    public DecisionPolicy current() {
+        return policy;
+    }
+
+    public void update(DecisionPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Reads and validates a policy from a properties file.
+     */
+    public static DecisionPolicy load(Resource file) {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read decision policy " + file.getDescription(), e);
+        }
+        return DecisionPolicy.fromProperties(properties);
+    }
+}
@@ -0,0 +1,139 @@
+package ee.taltech.inbankbackend.replay;
+
+import java.util.Locale;
+
+import ee.taltech.inbankbackend.dto.DecisionResult;
+
+/**
+ * Sums up how the decisions of a replay differ between the current and the candidate policy, overall
+ * and per credit segment.
+ *
+ * Every worker fills a report of its own, and reports are merged in input order, so the totals are the
+ * same whatever the number of threads.
+ */
+public final class ReplayReport {
+
+    /**
+     * Requests are grouped by the credit segment the current policy puts the applicant in, with invalid
+     * personal codes on their own.
+     */
+    static final String[] SEGMENTS = {"debt", "segment 1", "segment 2", "segment 3", "invalid code"};
+    static final int INVALID_CODE = 4;
+
+    private long unreadable;
+    private long changed;
+    private final long[] requests = new long[SEGMENTS.length];
+    private final long[] approvedCurrent = new long[SEGMENTS.length];
+    private final long[] approvedCandidate = new long[SEGMENTS.length];
+    private final long[] amountCurrent = new long[SEGMENTS.length];
+    private final long[] amountCandidate = new long[SEGMENTS.length];
+    private final long[] periodExtendedCurrent = new long[SEGMENTS.length];
+    private final long[] periodExtendedCandidate = new long[SEGMENTS.length];
+
+    void add(int segment, int requestedPeriod, DecisionResult current, DecisionResult candidate) {
+        requests[segment]++;
+        if (current.isApproved()) {
+            approvedCurrent[segment]++;
+            amountCurrent[segment] += current.getLoanAmount();
+            periodExtendedCurrent[segment] += current.getLoanPeriod() > requestedPeriod ? 1 : 0;
+        }
+        if (candidate.isApproved()) {
+            approvedCandidate[segment]++;
+            amountCandidate[segment] += candidate.getLoanAmount();
+            periodExtendedCandidate[segment] += candidate.getLoanPeriod() > requestedPeriod ? 1 : 0;
+        }
+        if (!sameDecision(current, candidate)) {
+            changed++;
+        }
+    }
+
+    void unreadable() {
+        unreadable++;
+    }
+
+    void merge(ReplayReport other) {
+        unreadable += other.unreadable;
+        changed += other.changed;
+        for (int i = 0; i < SEGMENTS.length; i++) {
+            requests[i] += other.requests[i];
+            approvedCurrent[i] += other.approvedCurrent[i];
+            approvedCandidate[i] += other.approvedCandidate[i];
+            amountCurrent[i] += other.amountCurrent[i];
+            amountCandidate[i] += other.amountCandidate[i];
+            periodExtendedCurrent[i] += other.periodExtendedCurrent[i];
+            periodExtendedCandidate[i] += other.periodExtendedCandidate[i];
+        }
+    }
+
+    static boolean sameDecision(DecisionResult current, DecisionResult candidate) {
+        return current.getRejectionReason() == candidate.getRejectionReason()
+                && current.getLoanAmount() == candidate.getLoanAmount()
+                && current.getLoanPeriod() == candidate.getLoanPeriod();
+    }
+
+    public long requests() {
+        return sum(requests);
+    }
+
+    public long unreadableLines() {
+        return unreadable;
+    }
+
+    public long changedDecisions() {
+        return changed;
+    }
+
+    public long approvedCurrent() {
+        return sum(approvedCurrent);
+    }
+
+    public long approvedCandidate() {
+        return sum(approvedCandidate);
+    }
+
+    /**
+     * Returns the change in the total approved amount of a segment, in euros.
+     */
+    public long amountDelta(int segment) {
+        return amountCandidate[segment] - amountCurrent[segment];
+    }
+
+    /**
+     * Formats the report as a plain text table.
+     */
+    public String format() {
+        long total = requests();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Requests: %d replayed, %d unreadable lines skipped%n",
+                total, unreadable));
+        report.append(String.format(Locale.ROOT, "Approval rate: %.2f%% -> %.2f%% (%+.2f points)%n",
+                percent(approvedCurrent(), total), percent(approvedCandidate(), total),
+                percent(approvedCandidate(), total) - percent(approvedCurrent(), total)));
+        report.append(String.format(Locale.ROOT, "Changed decisions: %d (%.2f%%)%n%n", changed,
+                percent(changed, total)));
+
+        report.append(String.format(Locale.ROOT, "%-12s %10s %21s %25s %15s %21s%n", "segment", "requests",
+                "approved", "approved amount", "amount delta", "period extended"));
+        for (int i = 0; i < SEGMENTS.length; i++) {
+            if (requests[i] == 0) {
+                continue;
+            }
+            report.append(String.format(Locale.ROOT, "%-12s %10d %10d -> %-7d %12d -> %-10d %+15d %10d -> %-7d%n",
+                    SEGMENTS[i], requests[i], approvedCurrent[i], approvedCandidate[i], amountCurrent[i],
+                    amountCandidate[i], amountDelta(i), periodExtendedCurrent[i], periodExtendedCandidate[i]));
+        }
+        return report.toString();
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100.0 * part / whole;
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
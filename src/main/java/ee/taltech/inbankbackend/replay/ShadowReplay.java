@@ -0,0 +1,236 @@
+package ee.taltech.inbankbackend.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+import ee.taltech.inbankbackend.service.DecisionEngines;
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * Replays recorded decision requests against the current and a candidate decision policy and reports
+ * how the decisions differ, without starting the service.
+ *
+ * Usage: {@code ShadowReplay --requests=<file.ndjson> --candidate=<policy.properties>
+ * [--current=<policy.properties>] [--as-of=<date>] [--changes=<file.ndjson>] [--threads=<n>]}. Requests
+ * are newline-delimited JSON as {@code exportJournal --format=requests} writes them. The current policy
+ * defaults to the one on the classpath. Both policies decide with the same engine code and the same
+ * date, {@code --as-of}, by default today, so applicant ages and therefore the report are reproducible.
+ *
+ * Lines are read in batches and both decisions of a request are made on the same worker, one worker per
+ * core. Batches are collected in input order, so the report and the changed decisions written to
+ * {@code --changes} are identical for any number of threads.
+ */
+public class ShadowReplay {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int BATCHES_IN_FLIGHT_PER_THREAD = 4;
+
+    private final DecisionPolicy currentPolicy;
+    private final DecisionEngineService current;
+    private final DecisionEngineService candidate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int threads;
+
+    public ShadowReplay(DecisionPolicy current, DecisionPolicy candidate, LocalDate asOf, int threads) {
+        Clock clock = Clock.fixed(asOf.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        this.currentPolicy = current;
+        this.current = DecisionEngines.standalone(current, clock);
+        this.candidate = DecisionEngines.standalone(candidate, clock);
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        if (!options.containsKey("requests") || !options.containsKey("candidate")) {
+            System.err.println("Usage: ShadowReplay --requests=<file.ndjson> --candidate=<policy.properties> "
+                    + "[--current=<policy.properties>] [--as-of=<date>] [--changes=<file.ndjson>] [--threads=<n>]");
+            System.exit(2);
+        }
+        // Every decision would otherwise be logged to the console
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        DecisionPolicy currentPolicy = options.containsKey("current")
+                ? DecisionPolicyStore.load(new FileSystemResource(options.get("current")))
+                : DecisionPolicyStore.load(new ClassPathResource("decision-policy.properties"));
+        DecisionPolicy candidatePolicy = DecisionPolicyStore.load(new FileSystemResource(options.get("candidate")));
+        LocalDate asOf = options.containsKey("as-of") ? LocalDate.parse(options.get("as-of")) : LocalDate.now();
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        ShadowReplay replay = new ShadowReplay(currentPolicy, candidatePolicy, asOf, threads);
+        long start = System.nanoTime();
+        ReplayReport report;
+        try (InputStream requests = Files.newInputStream(Path.of(options.get("requests")));
+             OutputStream changes = options.containsKey("changes")
+                     ? Files.newOutputStream(Path.of(options.get("changes")))
+                     : OutputStream.nullOutputStream()) {
+            report = replay.run(requests, changes);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "Replayed as of %s on %d threads in %.1f s, %.0f requests per second%n",
+                asOf, threads, seconds, report.requests() / seconds);
+        System.out.print(report.format());
+    }
+
+    /**
+     * Replays every request line, writing each changed decision to {@code changes} as a JSON line with the
+     * request's line number and both decisions.
+     */
+    public ReplayReport run(InputStream requests, OutputStream changes) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ReplayReport report = new ReplayReport();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(changes, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            int window = threads * BATCHES_IN_FLIGHT_PER_THREAD;
+            ArrayDeque<Future<Batch>> inFlight = new ArrayDeque<>(window);
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(requests, StandardCharsets.UTF_8));
+            long lineNumber = 0;
+            List<String> lines = new ArrayList<>(BATCH_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == BATCH_SIZE) {
+                    if (inFlight.size() == window) {
+                        collect(inFlight.poll(), report, json);
+                    }
+                    List<String> batch = lines;
+                    long firstLine = lineNumber + 1;
+                    inFlight.add(executor.submit(() -> replay(batch, firstLine)));
+                    lineNumber += BATCH_SIZE;
+                    lines = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!lines.isEmpty()) {
+                List<String> batch = lines;
+                long firstLine = lineNumber + 1;
+                inFlight.add(executor.submit(() -> replay(batch, firstLine)));
+            }
+            while (!inFlight.isEmpty()) {
+                collect(inFlight.poll(), report, json);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    private Batch replay(List<String> lines, long firstLine) {
+        ReplayReport report = new ReplayReport();
+        List<Change> changes = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            DecisionRequestDTO request;
+            try {
+                request = objectMapper.readValue(line, DecisionRequestDTO.class);
+            } catch (JsonProcessingException e) {
+                report.unreadable();
+                continue;
+            }
+            if (request.getPersonalCode() == null || request.getLoanAmount() == null) {
+                report.unreadable();
+                continue;
+            }
+
+            DecisionResult currentDecision = current.evaluate(request.getPersonalCode(), request.getLoanAmount(),
+                    request.getLoanPeriod());
+            DecisionResult candidateDecision = candidate.evaluate(request.getPersonalCode(),
+                    request.getLoanAmount(), request.getLoanPeriod());
+            report.add(segment(request.getPersonalCode()), request.getLoanPeriod(), currentDecision,
+                    candidateDecision);
+            if (!ReplayReport.sameDecision(currentDecision, candidateDecision)) {
+                changes.add(new Change(firstLine + i, request, currentDecision, candidateDecision));
+            }
+        }
+        return new Batch(report, changes);
+    }
+
+    private int segment(String personalCode) {
+        ParsedPersonalCode parsed = ParsedPersonalCode.parse(personalCode);
+        return parsed.isValid() ? currentPolicy.creditSegment(parsed.getSegment()) : ReplayReport.INVALID_CODE;
+    }
+
+    private static void collect(Future<Batch> result, ReplayReport report, JsonGenerator json) throws IOException {
+        Batch batch;
+        try {
+            batch = result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a replay batch", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to replay a batch", e.getCause());
+        }
+        report.merge(batch.report());
+        for (Change change : batch.changes()) {
+            json.writeStartObject();
+            json.writeNumberField("line", change.line());
+            json.writeStringField("personalCode", change.request().getPersonalCode());
+            json.writeNumberField("loanAmount", change.request().getLoanAmount());
+            json.writeNumberField("loanPeriod", change.request().getLoanPeriod());
+            writeDecision(json, "current", change.current());
+            writeDecision(json, "candidate", change.candidate());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+    }
+
+    private static void writeDecision(JsonGenerator json, String name, DecisionResult decision) throws IOException {
+        json.writeObjectFieldStart(name);
+        if (decision.isApproved()) {
+            json.writeNumberField("loanAmount", decision.getLoanAmount());
+            json.writeNumberField("loanPeriod", decision.getLoanPeriod());
+        } else {
+            json.writeStringField("rejectionReason", decision.getRejectionReason().name());
+        }
+        json.writeEndObject();
+    }
+
+    private record Batch(ReplayReport report, List<Change> changes) {
+    }
+
+    private record Change(long line, DecisionRequestDTO request, DecisionResult current, DecisionResult candidate) {
+    }
+}
@@ -0,0 +1,81 @@
+package ee.taltech.inbankbackend.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.exception.InvalidBatchSizeException;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Evaluates many loan decision requests in parallel.
+ *
+ * Every item is evaluated on its own, so a rejected or invalid item only produces an error message in its
+ * own slot and never aborts the rest of the batch. Results are returned in request order.
+ */
+@Service
+public class BatchDecisionService {
+
+    private final DecisionEngineService decisionEngine;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public BatchDecisionService(DecisionEngineService decisionEngine) {
+        this.decisionEngine = decisionEngine;
+    }
+
+    public List<DecisionResponseDTO> calculateApprovedLoans(List<DecisionRequestDTO> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > DecisionEngineConstants.MAXIMUM_BATCH_SIZE) {
+            throw new InvalidBatchSizeException("Invalid batch size!");
+        }
+
+        DecisionResponseDTO[] responses = new DecisionResponseDTO[requests.size()];
+        pool.submit(() -> IntStream.range(0, responses.length)
+                .parallel()
+                .forEach(i -> responses[i] = calculateApprovedLoan(requests.get(i))))
+            .join();
+
+        return Arrays.asList(responses);
+    }
+
+    /**
+     * Evaluates a single request and turns any rejection into the same error message the single decision
+     * endpoint would return.
+     */
+    public DecisionResponseDTO calculateApprovedLoan(DecisionRequestDTO request) {
+        DecisionResponseDTO response = new DecisionResponseDTO();
+        if (request == null) {
+            response.setErrorMessage("Invalid request");
+            return response;
+        }
+
+        try {
+            DecisionResult decision = decisionEngine.evaluate(
+                request.getPersonalCode(),
+                request.getLoanAmount(),
+                request.getLoanPeriod()
+            );
+            if (decision.isApproved()) {
+                response.setLoanAmount(decision.getLoanAmount());
+                response.setLoanPeriod(decision.getLoanPeriod());
+            } else {
+                response.setErrorMessage(decision.getRejectionReason().getMessage());
+            }
+        } catch (RuntimeException e) {
+            response.setErrorMessage("An unexpected error occurred");
+        }
+
+        return response;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
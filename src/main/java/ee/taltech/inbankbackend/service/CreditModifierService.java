@@ -1,24 +1,45 @@
 package ee.taltech.inbankbackend.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.credit.CreditModifierProvider;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
 
+/**
+ * Derives the credit modifier from the segment in the last four digits of the personal code, using the
+ * segment limits and modifiers of the current policy.
+ */
 @Service
-public class CreditModifierService {
-        public int getCreditModifier(String personalCode) {
-
-        int segment = Integer.parseInt(personalCode.substring(personalCode.length() - 4));
-        System.out.println("segment: " + segment);
-
-        if (segment < 2500) {
-            return 0;
-        } else if (segment < 5000) {
-            return DecisionEngineConstants.SEGMENT_1_CREDIT_MODIFIER;
-        } else if (segment < 7500) {
-            return DecisionEngineConstants.SEGMENT_2_CREDIT_MODIFIER;
+public class CreditModifierService implements CreditModifierProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditModifierService.class);
+
+    private final DecisionPolicyStore policyStore;
+
+    public CreditModifierService(DecisionPolicyStore policyStore) {
+        this.policyStore = policyStore;
+    }
+
+    public int getCreditModifier(String personalCode) {
+        return getCreditModifier(ParsedPersonalCode.parse(personalCode));
+    }
+
+    /**
+     * Returns the credit modifier for the segment in the last four digits, or 0 for an invalid code.
+     */
+    @Override
+    public int getCreditModifier(ParsedPersonalCode personalCode) {
+
+        int segment = personalCode.getSegment();
+        if (log.isTraceEnabled()) {
+            log.trace("segment: {}", segment);
         }
 
-        return DecisionEngineConstants.SEGMENT_3_CREDIT_MODIFIER;
+        DecisionPolicy policy = policyStore.current();
+        return policy.creditModifier(policy.creditSegment(segment));
     }
 }
@@ -1,63 +1,236 @@
 package ee.taltech.inbankbackend.service;
 
-import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.audit.DecisionAuditLogger;
+import ee.taltech.inbankbackend.credit.CreditModifierProvider;
 import ee.taltech.inbankbackend.dto.DecisionDTO;
-import ee.taltech.inbankbackend.exception.NoValidLoanException;
+import ee.taltech.inbankbackend.dto.DecisionExplanation;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.LoanOffersResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+import ee.taltech.inbankbackend.service.DecisionResponseCache.ComputedDecision;
 import ee.taltech.inbankbackend.validator.LoanInputValidator;
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Calculates loan decisions.
+ *
+ * The service is a shared singleton and keeps no per-request state: everything a decision needs lives in
+ * local variables, and its collaborators are immutable or read-only. Concurrent calls never see each
+ * other's data, so requests can run on any number of threads.
+ *
+ * With {@code decision.coalescing.enabled=true}, identical requests that arrive while the same decision is
+ * still being computed share that computation and its result instead of running their own; they are
+ * counted in the coalesced decisions metric. Only the computation is shared: every caller's decision is
+ * still timed, counted by outcome and audited on its own. Coalescing only pays off when the credit
+ * modifier comes from a slow source; for the segment source the bookkeeping costs more than deciding.
+ *
+ * Computed decisions are kept in the {@link DecisionResponseCache}, but a cached decision is still
+ * validated, timed, counted and audited like a fresh one, so every decision served is recorded.
+ *
+ * A decision can also be explained: the engine then records the inputs and scores it decided with as it
+ * goes. The explanation is an argument of the one evaluation rather than a second pass, and when none is
+ * asked for, deciding does no more work and allocates nothing more than before.
+ */
 @Service
 public class DecisionEngineService {
 
     private final LoanInputValidator validator;
-    private final CreditModifierService creditModifierService;
-    private int creditModifier = 0;
+    private final CreditModifierProvider creditModifierProvider;
+    private final DecisionTable decisionTable;
+    private final DecisionPolicyStore policyStore;
+    private final DecisionResponseCache responseCache;
+    private final DecisionAuditLogger auditLogger;
+    private final DecisionMetrics metrics;
+    private final RequestCoalescer<DecisionKey, Decision> coalescer;
 
-    public DecisionEngineService(LoanInputValidator validator, CreditModifierService creditModifierService) {
+    public DecisionEngineService(LoanInputValidator validator, CreditModifierProvider creditModifierProvider,
+            DecisionTable decisionTable, DecisionPolicyStore policyStore, DecisionResponseCache responseCache,
+            DecisionAuditLogger auditLogger, DecisionMetrics metrics,
+            @Value("${decision.coalescing.enabled:false}") boolean coalescingEnabled) {
         this.validator = validator;
-        this.creditModifierService = creditModifierService;
+        this.creditModifierProvider = creditModifierProvider;
+        this.decisionTable = decisionTable;
+        this.policyStore = policyStore;
+        this.responseCache = responseCache;
+        this.auditLogger = auditLogger;
+        this.metrics = metrics;
+        this.coalescer = coalescingEnabled ? new RequestCoalescer<>(() -> metrics.coalescedDecision()) : null;
     }
 
+    /**
+     * Returns the approved loan, or throws the exception matching the rejection reason.
+     */
     public DecisionDTO calculateApprovedLoan(String personalCode, Long loanAmount, int loanPeriod) {
-        
-        System.out.println("personalCode: " + personalCode + ", loanAmount: " + loanAmount + ", loanPeriod: " + loanPeriod);
+        DecisionResult result = evaluate(personalCode, loanAmount, loanPeriod);
+        if (!result.isApproved()) {
+            throw result.getRejectionReason().toException();
+        }
+        return new DecisionDTO(result.getLoanAmount(), result.getLoanPeriod(), null);
+    }
+
+    /**
+     * Returns the decision for the request. Invalid inputs and rejected applicants are returned as
+     * rejected results rather than thrown.
+     */
+    public DecisionResult evaluate(String personalCode, Long loanAmount, int loanPeriod) {
+        Decision decision = coalescer == null
+                ? decide(personalCode, loanAmount, loanPeriod, null)
+                : coalescer.execute(new DecisionKey(personalCode, loanAmount, loanPeriod),
+                        () -> decide(personalCode, loanAmount, loanPeriod, null));
+        return record(personalCode, loanAmount, loanPeriod, decision);
+    }
 
-        // Validate input parameters
-        validator.verifyInputs(personalCode, loanAmount, loanPeriod);
-        creditModifier = creditModifierService.getCreditModifier(personalCode);
+    /**
+     * Returns the decision for the request like {@link #evaluate}, without timing, counting or auditing it,
+     * for the synthetic requests of the JIT warm-up.
+     */
+    public DecisionResult warmUp(String personalCode, Long loanAmount, int loanPeriod) {
+        return decide(personalCode, loanAmount, loanPeriod, null).result();
+    }
+
+    /**
+     * Returns the decision for the request like {@link #evaluate}, filling in {@code explanation} on the
+     * way. Explained requests are neither coalesced nor cached, since each needs its own explanation.
+     */
+    public DecisionResult explain(String personalCode, Long loanAmount, int loanPeriod,
+            DecisionExplanation explanation) {
+        Decision decision = decide(personalCode, loanAmount, loanPeriod, explanation);
+        return record(personalCode, loanAmount, loanPeriod, decision);
+    }
 
-        // No approved loans with debt
+    /**
+     * Returns the highest approvable amount for every loan period for the applicant, or why they cannot
+     * get any loan.
+     */
+    public LoanOffersResult offers(String personalCode) {
+        ParsedPersonalCode parsedCode = ParsedPersonalCode.parse(personalCode);
+        RejectionReason invalid = validator.validateApplicant(parsedCode);
+        if (invalid != null) {
+            return LoanOffersResult.rejected(invalid);
+        }
+
+        int creditModifier = creditModifierProvider.getCreditModifier(parsedCode);
         if (creditModifier == 0) {
-            System.out.println("creditModifier: " + creditModifier + " >>> EXITING");
-            throw new NoValidLoanException("No valid loan found!");
+            return LoanOffersResult.rejected(RejectionReason.DEBT);
+        }
+        return decisionTable.offers(creditModifier);
+    }
+
+    /**
+     * Computes the decision without recording it, so a coalesced computation can be recorded by every
+     * caller sharing it.
+     */
+    private Decision decide(String personalCode, Long loanAmount, int loanPeriod, DecisionExplanation explanation) {
+
+        // Validate input parameters, parsing the personal code once for every later check
+        long validationStart = System.nanoTime();
+        ParsedPersonalCode parsedCode = ParsedPersonalCode.parse(personalCode);
+        RejectionReason invalid = validator.validate(parsedCode, loanAmount, loanPeriod);
+        long validationNanos = System.nanoTime() - validationStart;
+        if (invalid != null) {
+            return new Decision(DecisionResult.rejected(invalid), Decision.INVALID, validationNanos, 0);
+        }
+
+        long computationStart = System.nanoTime();
+        ComputedDecision computed = explanation == null
+                ? responseCache.get(personalCode, loanAmount, loanPeriod,
+                        () -> compute(parsedCode, loanAmount, loanPeriod, null))
+                : compute(parsedCode, loanAmount, loanPeriod, explanation);
+        long computationNanos = System.nanoTime() - computationStart;
+        return new Decision(computed.result(), computed.creditModifier(), validationNanos, computationNanos);
+    }
+
+    private ComputedDecision compute(ParsedPersonalCode parsedCode, Long loanAmount, int loanPeriod,
+            DecisionExplanation explanation) {
+        int creditModifier = creditModifierProvider.getCreditModifier(parsedCode);
+        if (explanation != null) {
+            explainInputs(explanation, parsedCode, creditModifier, loanAmount, loanPeriod);
         }
-        System.out.println("creditModifier: " + creditModifier);
 
-        // Start from requested loanPeriod and increase if not approved
-        for (int period = loanPeriod; period <= 48; period++) {
+        // No approved loans with debt; otherwise the highest approved loan amount at the shortest approved
+        // period, starting from the requested one
+        DecisionResult result = creditModifier == 0
+                ? DecisionResult.rejected(RejectionReason.DEBT)
+                : decisionTable.lookup(creditModifier, loanPeriod);
+        if (explanation != null && result.isApproved()) {
+            explanation.setGrantedScore(LoanSolver.creditScore(creditModifier, result.getLoanAmount(),
+                    result.getLoanPeriod()));
+            explanation.setPeriodsExtended(result.getLoanPeriod() - loanPeriod);
+        }
+        return new ComputedDecision(result, creditModifier);
+    }
 
-            // Start from max loan amount and decrease until approved
-            for (int amount = 10000; amount >= 2000; amount -= 100) {
-                boolean isApproved = isLoanApproved(creditModifier, amount, period);
+    /**
+     * Times, audits and counts one caller's decision. It is audited before it is counted, so a decision
+     * the journal refuses is not counted as an outcome.
+     */
+    private DecisionResult record(String personalCode, Long loanAmount, int loanPeriod, Decision decision) {
+        DecisionResult result = decision.result();
+        metrics.recordValidation(decision.validationNanos());
+        if (decision.creditModifier() == Decision.INVALID) {
+            auditLogger.invalid(personalCode, loanAmount, loanPeriod, result.getRejectionReason());
+            return result;
+        }
 
-                // Return highest approved loan amount for the period
-                if (isApproved) {
-                    System.out.println("creditModifier: " + creditModifier + ", amount: " + amount + ", period: " + period);
-                    System.out.println("isApproved: " + isApproved);
-                    return new DecisionDTO(amount, period, null);
-                }
+        metrics.recordComputation(decision.computationNanos());
+        if (!result.isApproved()) {
+            auditLogger.rejected(personalCode, loanAmount, loanPeriod, decision.creditModifier(),
+                    result.getRejectionReason());
+            if (result.getRejectionReason() == RejectionReason.DEBT) {
+                metrics.rejectedWithDebt();
+            } else {
+                metrics.noValidLoan();
             }
+            return result;
         }
 
-        System.out.println("No valid loan found for:");
-        System.out.println("---> personalCode: " + personalCode + ", loanAmount: " + loanAmount + ", loanPeriod: " + loanPeriod);
-        throw new NoValidLoanException("No valid loan found!");
+        auditLogger.approved(personalCode, loanAmount, loanPeriod, decision.creditModifier(), result);
+        metrics.approved(loanPeriod, result.getLoanPeriod());
+        return result;
+    }
+
+    private void explainInputs(DecisionExplanation explanation, ParsedPersonalCode parsedCode, int creditModifier,
+            Long loanAmount, int loanPeriod) {
+        explanation.setCreditModifier(creditModifier);
+        explanation.setCreditSegment(creditSegment(policyStore.current(), parsedCode, creditModifier));
+        explanation.setRequestedScore(LoanSolver.creditScore(creditModifier, loanAmount, loanPeriod));
     }
 
-    private boolean isLoanApproved(int creditModifier, int loanAmount, int loanPeriod) {
-        double creditScore = (((double) creditModifier /  loanAmount) * loanPeriod) / 10;
-        //System.out.println("creditScore: " + creditScore);
-        return creditScore >= 0.1;
+    /**
+     * Returns the policy segment whose modifier the decision was made with, or null when it matches none,
+     * as a modifier from the credit registry may not. The modifier need not come from the personal code's
+     * own segment, so that segment is only preferred when segments share a modifier.
+     */
+    private static Integer creditSegment(DecisionPolicy policy, ParsedPersonalCode parsedCode,
+            int creditModifier) {
+        int codeSegment = policy.creditSegment(parsedCode.getSegment());
+        if (policy.creditModifier(codeSegment) == creditModifier) {
+            return codeSegment;
+        }
+        for (int segment = 0; segment <= 3; segment++) {
+            if (policy.creditModifier(segment) == creditModifier) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private record DecisionKey(String personalCode, Long loanAmount, int loanPeriod) {
+    }
+
+    /**
+     * A computed decision with the credit modifier it was made with, or {@link #INVALID} when the request
+     * failed validation, and how long validating and computing it took.
+     */
+    private record Decision(DecisionResult result, int creditModifier, long validationNanos,
+            long computationNanos) {
+
+        static final int INVALID = -1;
     }
 }
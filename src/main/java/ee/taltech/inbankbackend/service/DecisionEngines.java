@@ -0,0 +1,60 @@
+package ee.taltech.inbankbackend.service;
+
+import java.time.Clock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ee.taltech.inbankbackend.audit.DecisionAuditLogger;
+import ee.taltech.inbankbackend.credit.CreditModifierProvider;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+import ee.taltech.inbankbackend.validator.AgeEligibility;
+import ee.taltech.inbankbackend.validator.LoanInputValidator;
+
+/**
+ * Builds a decision engine without an application context, wired the way Spring wires it: segment-based
+ * credit modifiers unless others are given, the precomputed decision table, no response cache unless one
+ * is given and an audit logger without a journal.
+ *
+ * The offline tools, the tests and the benchmarks all build their engine here, so a new collaborator of
+ * {@link DecisionEngineService} only has to be added in one place.
+ */
+public final class DecisionEngines {
+
+    private DecisionEngines() {
+    }
+
+    /**
+     * Returns an engine deciding by the policy, with applicant ages taken on the clock's date and metrics
+     * kept in a registry of its own.
+     */
+    public static DecisionEngineService standalone(DecisionPolicy policy, Clock clock) {
+        DecisionPolicyStore policyStore = new DecisionPolicyStore(policy);
+        return standalone(policyStore, clock, new CreditModifierService(policyStore),
+                new DecisionMetrics(new SimpleMeterRegistry()), false);
+    }
+
+    /**
+     * Returns an engine deciding by the store's current policy with the given credit modifiers, recording
+     * into {@code metrics} and coalescing identical concurrent decisions when asked to.
+     */
+    public static DecisionEngineService standalone(DecisionPolicyStore policyStore, Clock clock,
+            CreditModifierProvider creditModifierProvider, DecisionMetrics metrics, boolean coalescing) {
+        return standalone(policyStore, clock, creditModifierProvider, metrics, coalescing,
+                DecisionResponseCache.disabled());
+    }
+
+    /**
+     * Returns an engine like {@link #standalone(DecisionPolicyStore, Clock, CreditModifierProvider,
+     * DecisionMetrics, boolean)} that caches its computed decisions in {@code responseCache}.
+     */
+    public static DecisionEngineService standalone(DecisionPolicyStore policyStore, Clock clock,
+            CreditModifierProvider creditModifierProvider, DecisionMetrics metrics, boolean coalescing,
+            DecisionResponseCache responseCache) {
+        LoanInputValidator validator = new LoanInputValidator(policyStore, new AgeEligibility(clock, policyStore));
+        return new DecisionEngineService(validator, creditModifierProvider,
+                new DecisionTable(new LoanSolver(), policyStore), policyStore, responseCache,
+                new DecisionAuditLogger(), metrics, coalescing);
+    }
+}
@@ -0,0 +1,17 @@
+package ee.taltech.inbankbackend.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when anything a decision depends on has changed, such as the credit modifier source or the
+ * decision constants.
+ *
+ * {@link DecisionTable} rebuilds itself first; caches of credit modifiers and decisions are cleared after
+ * it, so nothing computed from the old inputs is served again.
+ */
+public class DecisionInputsChangedEvent extends ApplicationEvent {
+
+    public DecisionInputsChangedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,119 @@
+package ee.taltech.inbankbackend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Scores newline-delimited JSON decision requests from a stream of any size.
+ *
+ * Lines are parsed, validated and decided on a fixed worker pool while the calling thread writes the
+ * results back in input order. At most {@code IN_FLIGHT_PER_WORKER} lines per worker are in flight at a
+ * time; once the window is full the reader waits for the oldest result, so memory use stays constant no
+ * matter how large the input is.
+ */
+@Service
+public class DecisionPipeline {
+
+    private static final int IN_FLIGHT_PER_WORKER = 64;
+
+    private final BatchDecisionService batchDecisionService;
+    private final ObjectMapper objectMapper;
+    private final int workers = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService executor = Executors.newFixedThreadPool(workers);
+
+    public DecisionPipeline(BatchDecisionService batchDecisionService, ObjectMapper objectMapper) {
+        this.batchDecisionService = batchDecisionService;
+        this.objectMapper = objectMapper;
+    }
+
+    public PipelineStats run(InputStream input, OutputStream output) throws IOException {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+
+        int window = workers * IN_FLIGHT_PER_WORKER;
+        ArrayDeque<Future<byte[]>> inFlight = new ArrayDeque<>(window);
+        long records = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (inFlight.size() == window) {
+                write(inFlight.poll(), output);
+            }
+            String request = line;
+            inFlight.add(executor.submit(() -> score(request)));
+            records++;
+        }
+        while (!inFlight.isEmpty()) {
+            write(inFlight.poll(), output);
+        }
+        output.flush();
+
+        long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new PipelineStats(records, System.nanoTime() - start, peakHeapBytes);
+    }
+
+    /**
+     * Parses and decides one line. A line that is not a valid request gets an error message of its own
+     * instead of ending the stream.
+     */
+    public DecisionResponseDTO decide(String line) {
+        try {
+            DecisionRequestDTO request = objectMapper.readValue(line, DecisionRequestDTO.class);
+            return batchDecisionService.calculateApprovedLoan(request);
+        } catch (JsonProcessingException e) {
+            DecisionResponseDTO response = new DecisionResponseDTO();
+            response.setErrorMessage("Invalid request");
+            return response;
+        }
+    }
+
+    private byte[] score(String line) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(decide(line));
+    }
+
+    private void write(Future<byte[]> result, OutputStream output) throws IOException {
+        try {
+            output.write(result.get());
+            output.write('\n');
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a decision", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to write a decision", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
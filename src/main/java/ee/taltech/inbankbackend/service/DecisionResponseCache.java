@@ -0,0 +1,109 @@
+package ee.taltech.inbankbackend.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ee.taltech.inbankbackend.dto.DecisionResult;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches computed decisions by request, so identical requests skip the credit modifier lookup and the
+ * decision table.
+ *
+ * Only the computation is cached: {@link DecisionEngineService} still validates, times, counts and audits
+ * every request, hit or miss, so the audit log, the journal and the decision metrics see every decision
+ * served. Entries are keyed on the personal code, loan amount and loan period exactly as requested. The cache is
+ * bounded by {@code decision.response-cache.maximum-size}, entries expire after
+ * {@code decision.response-cache.ttl}, and everything is dropped on a {@link DecisionInputsChangedEvent}.
+ * A decision that was still being computed from the old inputs when the event arrived is returned but not
+ * cached. Hits and misses are published as {@code cache.*} metrics tagged
+ * {@code cache=decisionResponses}.
+ */
+@Component
+public class DecisionResponseCache {
+
+    private final boolean enabled;
+    private final Cache<DecisionKey, ComputedDecision> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public DecisionResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${decision.response-cache.enabled:true}") boolean enabled,
+            @Value("${decision.response-cache.maximum-size:100000}") long maximumSize,
+            @Value("${decision.response-cache.ttl:60s}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "decisionResponses");
+    }
+
+    /**
+     * Returns a cache that always computes, for engines built without an application context.
+     */
+    public static DecisionResponseCache disabled() {
+        return new DecisionResponseCache(new SimpleMeterRegistry(), false, 1, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Returns the cached decision for the request, or computes and caches it.
+     */
+    ComputedDecision get(String personalCode, Long loanAmount, int loanPeriod, Supplier<ComputedDecision> decision) {
+        if (!enabled) {
+            return decision.get();
+        }
+
+        DecisionKey key = new DecisionKey(personalCode, loanAmount, loanPeriod);
+        ComputedDecision cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        ComputedDecision result = decision.get();
+        cache.put(key, result);
+        // The inputs changed while deciding: the entry may be stale, and may have missed the invalidation
+        if (generation.get() != startGeneration) {
+            cache.invalidate(key);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the strong entity tag of an approved decision; two decisions get the same tag exactly when
+     * they approve the same amount and period.
+     */
+    public static String entityTag(DecisionResult decision) {
+        return "\"" + decision.getLoanAmount() + "-" + decision.getLoanPeriod() + "\"";
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDecisionInputsChanged(DecisionInputsChangedEvent event) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private record DecisionKey(String personalCode, Long loanAmount, int loanPeriod) {
+    }
+
+    /**
+     * A decision with the credit modifier it was made with, which the audit records.
+     */
+    record ComputedDecision(DecisionResult result, int creditModifier) {
+    }
+}
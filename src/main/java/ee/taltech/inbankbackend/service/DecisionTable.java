@@ -0,0 +1,160 @@
+package ee.taltech.inbankbackend.service;
+
+import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.LoanOffersResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputed loan decisions for every credit modifier and requested loan period.
+ *
+ * There are only four credit modifiers in the policy and the requested period is bounded by it, so every
+ * decision is solved once up front and kept in flat primitive arrays, together with the offers curve for
+ * every modifier. Lookups read a single immutable snapshot and only allocate the returned approval;
+ * rejections are shared constants. The table is rebuilt on every {@link DecisionInputsChangedEvent},
+ * before any cache is cleared; the new snapshot replaces the old one in a single write, so readers never
+ * see a half-built table.
+ */
+@Component
+public class DecisionTable {
+
+    private final LoanSolver loanSolver;
+    private final DecisionPolicyStore policyStore;
+    private volatile Snapshot snapshot;
+
+    public DecisionTable(LoanSolver loanSolver, DecisionPolicyStore policyStore) {
+        this.loanSolver = loanSolver;
+        this.policyStore = policyStore;
+        rebuild();
+    }
+
+    /**
+     * Returns the decision for the credit modifier and requested period, rejected with
+     * {@link RejectionReason#NO_VALID_LOAN} when no loan can be approved. Modifiers or periods outside the
+     * table are solved directly.
+     */
+    public DecisionResult lookup(int creditModifier, int loanPeriod) {
+        Snapshot table = snapshot;
+
+        int row = table.indexOf(creditModifier);
+        int column = loanPeriod - table.minimumPeriod;
+        if (row < 0 || column < 0 || column >= table.periodCount) {
+            DecisionDTO decision = loanSolver.solve(table.policy, creditModifier, loanPeriod);
+            return decision == null
+                    ? DecisionResult.rejected(RejectionReason.NO_VALID_LOAN)
+                    : DecisionResult.approved(decision.getLoanAmount(), decision.getLoanPeriod());
+        }
+
+        int index = row * table.periodCount + column;
+        int period = table.periods[index];
+        if (period == 0) {
+            return DecisionResult.rejected(RejectionReason.NO_VALID_LOAN);
+        }
+        return DecisionResult.approved(table.amounts[index], period);
+    }
+
+    /**
+     * Returns the highest approvable amount for every allowed loan period, rejected with
+     * {@link RejectionReason#NO_VALID_LOAN} when no period has an approvable amount. Modifiers outside the
+     * table are solved directly.
+     */
+    public LoanOffersResult offers(int creditModifier) {
+        Snapshot table = snapshot;
+
+        int row = table.indexOf(creditModifier);
+        if (row < 0) {
+            return solveOffers(table.policy, creditModifier);
+        }
+        return table.offers[row];
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDecisionInputsChanged(DecisionInputsChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Solves every decision again from the current policy and publishes the new table.
+     */
+    public void rebuild() {
+        DecisionPolicy policy = policyStore.current();
+        int[] creditModifiers = {
+            0,
+            policy.getSegment1CreditModifier(),
+            policy.getSegment2CreditModifier(),
+            policy.getSegment3CreditModifier()
+        };
+        int minimumPeriod = policy.getMinimumLoanPeriod();
+        int periodCount = policy.getMaximumLoanPeriod() - minimumPeriod + 1;
+
+        int[] amounts = new int[creditModifiers.length * periodCount];
+        int[] periods = new int[amounts.length];
+        LoanOffersResult[] offers = new LoanOffersResult[creditModifiers.length];
+        for (int row = 0; row < creditModifiers.length; row++) {
+            offers[row] = solveOffers(policy, creditModifiers[row]);
+            for (int column = 0; column < periodCount; column++) {
+                DecisionDTO decision = loanSolver.solve(policy, creditModifiers[row], minimumPeriod + column);
+                if (decision != null) {
+                    amounts[row * periodCount + column] = decision.getLoanAmount();
+                    periods[row * periodCount + column] = decision.getLoanPeriod();
+                }
+            }
+        }
+
+        snapshot = new Snapshot(policy, creditModifiers, minimumPeriod, periodCount, amounts, periods, offers);
+    }
+
+    private LoanOffersResult solveOffers(DecisionPolicy policy, int creditModifier) {
+        int minimumPeriod = policy.getMinimumLoanPeriod();
+        int periodCount = policy.getMaximumLoanPeriod() - minimumPeriod + 1;
+        int[] loanPeriods = new int[periodCount];
+        int[] loanAmounts = new int[periodCount];
+        boolean approvable = false;
+        for (int column = 0; column < periodCount; column++) {
+            loanPeriods[column] = minimumPeriod + column;
+            loanAmounts[column] = loanSolver.highestApprovedAmount(policy, creditModifier, loanPeriods[column]);
+            approvable |= loanAmounts[column] > 0;
+        }
+        return approvable
+                ? LoanOffersResult.offers(loanPeriods, loanAmounts)
+                : LoanOffersResult.rejected(RejectionReason.NO_VALID_LOAN);
+    }
+
+    private static final class Snapshot {
+        private final DecisionPolicy policy;
+        private final int[] creditModifiers;
+        private final int minimumPeriod;
+        private final int periodCount;
+        private final int[] amounts;
+        private final int[] periods;
+        private final LoanOffersResult[] offers;
+
+        private Snapshot(DecisionPolicy policy, int[] creditModifiers, int minimumPeriod, int periodCount,
+                int[] amounts, int[] periods, LoanOffersResult[] offers) {
+            this.policy = policy;
+            this.creditModifiers = creditModifiers;
+            this.minimumPeriod = minimumPeriod;
+            this.periodCount = periodCount;
+            this.amounts = amounts;
+            this.periods = periods;
+            this.offers = offers;
+        }
+
+        private int indexOf(int creditModifier) {
+            for (int i = 0; i < creditModifiers.length; i++) {
+                if (creditModifiers[i] == creditModifier) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
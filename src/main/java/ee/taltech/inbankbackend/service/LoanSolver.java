@@ -0,0 +1,107 @@
+package ee.taltech.inbankbackend.service;
+
+import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the best loan offer for a credit modifier without searching.
+ *
+ * A loan is approved when {@code creditModifier / amount * period / 10} reaches the policy's minimum
+ * credit score, which is the same as {@code creditModifier * period / (10 * minimumScore) >= amount}.
+ * Inverting that gives the highest approvable amount for a period and the shortest period that approves
+ * the minimum amount directly.
+ *
+ * The floating point check can round either way of the exact boundary, so every closed-form candidate is
+ * confirmed with {@link #isLoanApproved} and moved by one step when the neighbouring one is what the
+ * check decides. The check is monotone in both amount and period, so one step is always enough and the
+ * result matches the period/amount search loop it replaces.
+ *
+ * Amount and period bounds and the minimum score come from the {@link DecisionPolicy} passed in, so the
+ * solver itself is stateless.
+ */
+@Component
+public class LoanSolver {
+
+    /**
+     * Returns the highest approvable amount at the shortest approvable period, starting from the
+     * requested period, or null when no loan can be approved.
+     */
+    public DecisionDTO solve(DecisionPolicy policy, int creditModifier, int loanPeriod) {
+        if (creditModifier <= 0) {
+            return null;
+        }
+
+        // Shortest period at which the minimum amount is approved
+        int minimumAmount = policy.getMinimumLoanAmount();
+        int maximumPeriod = policy.getMaximumLoanPeriod();
+        double shortestPeriod = Math.ceil(minimumAmount * scoreDivisor(policy) / creditModifier);
+        if (shortestPeriod > maximumPeriod + 1) {
+            return null;
+        }
+        int period = Math.max(loanPeriod, (int) shortestPeriod);
+        if (period > loanPeriod && isLoanApproved(policy, creditModifier, minimumAmount, period - 1)) {
+            period--;
+        } else if (period <= maximumPeriod && !isLoanApproved(policy, creditModifier, minimumAmount, period)) {
+            period++;
+        }
+        if (period > maximumPeriod) {
+            return null;
+        }
+
+        return new DecisionDTO(highestApprovedAmount(policy, creditModifier, period), period, null);
+    }
+
+    /**
+     * Returns the highest approvable amount for exactly the given period, or 0 when even the minimum
+     * amount is not approved.
+     */
+    public int highestApprovedAmount(DecisionPolicy policy, int creditModifier, int loanPeriod) {
+        if (creditModifier <= 0 || loanPeriod <= 0) {
+            return 0;
+        }
+
+        int minimumAmount = policy.getMinimumLoanAmount();
+        int maximumAmount = policy.getMaximumLoanAmount();
+        int step = policy.getLoanAmountStep();
+        double limit = Math.floor(creditModifier * (double) loanPeriod / scoreDivisor(policy));
+        int amount;
+        if (limit >= maximumAmount) {
+            amount = maximumAmount;
+        } else if (limit < minimumAmount - step) {
+            return 0;
+        } else {
+            // Amounts are stepped down from the maximum, so round the gap up to a whole step
+            amount = maximumAmount - ceilDiv((int) (maximumAmount - limit), step) * step;
+        }
+        if (amount >= minimumAmount && !isLoanApproved(policy, creditModifier, amount, loanPeriod)) {
+            amount -= step;
+        } else if (amount < maximumAmount && isLoanApproved(policy, creditModifier, amount + step, loanPeriod)) {
+            amount += step;
+        }
+
+        return amount >= minimumAmount ? amount : 0;
+    }
+
+    public boolean isLoanApproved(DecisionPolicy policy, int creditModifier, int loanAmount, int loanPeriod) {
+        return creditScore(creditModifier, loanAmount, loanPeriod) >= policy.getMinimumCreditScore();
+    }
+
+    /**
+     * Returns the credit score of a loan; it is approved from the policy's minimum credit score up.
+     */
+    public static double creditScore(int creditModifier, long loanAmount, int loanPeriod) {
+        return (((double) creditModifier /  loanAmount) * loanPeriod) / 10;
+    }
+
+    // The score is creditModifier * period / (amount * 10), so it reaches the minimum while the amount is
+    // at most creditModifier * period / scoreDivisor
+    private static double scoreDivisor(DecisionPolicy policy) {
+        return 10 * policy.getMinimumCreditScore();
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
@@ -0,0 +1,24 @@
+package ee.taltech.inbankbackend.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Holds the throughput and memory figures of a finished streaming pipeline run.
+ */
+@Getter
+@AllArgsConstructor
+public class PipelineStats {
+    private final long records;
+    private final long elapsedNanos;
+    private final long peakHeapBytes;
+
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records * 1_000_000_000d / elapsedNanos;
+    }
+
+    public String summary() {
+        return String.format("records: %d, elapsed: %d ms, throughput: %.0f records/sec, peak heap: %d MB",
+                records, elapsedNanos / 1_000_000, getRecordsPerSecond(), peakHeapBytes / (1024 * 1024));
+    }
+}
@@ -0,0 +1,60 @@
+package ee.taltech.inbankbackend.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares one computation between concurrent calls with the same key.
+ *
+ * The first caller for a key computes the value on its own thread; callers that arrive while it is still
+ * running wait for that result instead of computing it again. Nothing is cached: once the computation
+ * finishes the key is removed, and the next call computes afresh.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Runnable onCoalesced;
+
+    /**
+     * @param onCoalesced called every time a caller shares a computation instead of running its own
+     */
+    public RequestCoalescer(Runnable onCoalesced) {
+        this.onCoalesced = onCoalesced;
+    }
+
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, result);
+        if (running != null) {
+            onCoalesced.run();
+            return join(running);
+        }
+
+        try {
+            V value = computation.get();
+            result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, result);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ee.taltech.inbankbackend.validator;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+
+/**
+ * Decides whether an applicant's age lies within the policy's age limits, given their birth date as an
+ * epoch day.
+ *
+ * An applicant is at least {@code n} years old exactly when they were born on or before the same day of
+ * the year {@code n} years ago, so the age limits become a range of birth days that only moves at
+ * midnight. The range is computed once per day and the check is two comparisons of whole numbers, with
+ * no dates built per request. Someone born on 29 February comes of age on 1 March in years without one,
+ * the same as {@link java.time.Period#between} counts it.
+ *
+ * The range is refreshed at midnight by the scheduler. Until that has run, and whenever the policy has
+ * been replaced, the next check recomputes it, so a late scheduler or a policy reload never leaves a
+ * stale range in use.
+ */
+@Component
+public class AgeEligibility {
+
+    private static final Logger log = LoggerFactory.getLogger(AgeEligibility.class);
+
+    private final Clock clock;
+    private final DecisionPolicyStore policyStore;
+
+    private volatile Bounds bounds;
+
+    public AgeEligibility(Clock clock, DecisionPolicyStore policyStore) {
+        this.clock = clock;
+        this.policyStore = policyStore;
+        this.bounds = compute(policyStore.current());
+    }
+
+    /**
+     * Returns {@link RejectionReason#UNDERAGE} or {@link RejectionReason#OVERAGE} when an applicant born
+     * on the given epoch day is outside the age limits today, or null when they are within them.
+     */
+    public RejectionReason check(long birthEpochDay) {
+        Bounds current = bounds;
+        if (current.policy != policyStore.current() || clock.millis() >= current.validUntilMillis) {
+            current = refresh();
+        }
+        if (birthEpochDay > current.latestBirthEpochDay) {
+            return RejectionReason.UNDERAGE;
+        }
+        if (birthEpochDay < current.earliestBirthEpochDay) {
+            return RejectionReason.OVERAGE;
+        }
+        return null;
+    }
+
+    /**
+     * Recomputes the range of eligible birth days for today's date and the policy in force.
+     */
+    @Scheduled(cron = "${decision.age-eligibility.refresh-cron:0 0 0 * * *}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    Bounds refresh() {
+        Bounds refreshed = compute(policyStore.current());
+        bounds = refreshed;
+        if (log.isDebugEnabled()) {
+            log.debug("Eligible birth days for {}: {} to {}", LocalDate.ofEpochDay(refreshed.today),
+                    LocalDate.ofEpochDay(refreshed.earliestBirthEpochDay),
+                    LocalDate.ofEpochDay(refreshed.latestBirthEpochDay));
+        }
+        return refreshed;
+    }
+
+    private Bounds compute(DecisionPolicy policy) {
+        LocalDate today = LocalDate.now(clock);
+        // At least the minimum age: born no later than this day the minimum age ago
+        long latest = today.minusYears(policy.getMinimumAge()).toEpochDay();
+        // Older than the maximum age: born on or before this day one year more than the maximum age ago
+        long earliest = today.minusYears(policy.maximumAge() + 1L).toEpochDay() + 1;
+        long validUntil = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return new Bounds(policy, today.toEpochDay(), earliest, latest, validUntil);
+    }
+
+    record Bounds(DecisionPolicy policy, long today, long earliestBirthEpochDay, long latestBirthEpochDay,
+            long validUntilMillis) {
+    }
+}
@@ -1,68 +1,76 @@
 package ee.taltech.inbankbackend.validator;
 
-import java.time.LocalDate;
-import java.time.Period;
 import org.springframework.stereotype.Component;
-import com.github.vladislavgoltjajev.personalcode.locale.estonia.EstonianPersonalCodeValidator;
-import ee.taltech.inbankbackend.config.DecisionEngineConstants;
-import ee.taltech.inbankbackend.exception.InvalidAgeException;
-import ee.taltech.inbankbackend.exception.InvalidLoanAmountException;
-import ee.taltech.inbankbackend.exception.InvalidLoanPeriodException;
-import ee.taltech.inbankbackend.exception.InvalidPersonalCodeException;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
 
 @Component
 public class LoanInputValidator {
 
-    private final EstonianPersonalCodeValidator validator = new EstonianPersonalCodeValidator();
+    private final DecisionPolicyStore policyStore;
+    private final AgeEligibility ageEligibility;
 
-    public void verifyInputs(String personalCode, Long loanAmount, int loanPeriod) {
+    public LoanInputValidator(DecisionPolicyStore policyStore, AgeEligibility ageEligibility) {
+        this.policyStore = policyStore;
+        this.ageEligibility = ageEligibility;
+    }
 
-        if (!validator.isValid(personalCode)) {
-            throw new InvalidPersonalCodeException("Invalid personal ID code!");
+    /**
+     * Throws the matching exception when the inputs are invalid.
+     */
+    public void verifyInputs(String personalCode, Long loanAmount, int loanPeriod) {
+        RejectionReason rejection = validate(personalCode, loanAmount, loanPeriod);
+        if (rejection != null) {
+            throw rejection.toException();
         }
+    }
 
-        if (!(DecisionEngineConstants.MINIMUM_LOAN_AMOUNT <= loanAmount)
-                || !(loanAmount <= DecisionEngineConstants.MAXIMUM_LOAN_AMOUNT)) {
-            throw new InvalidLoanAmountException("Invalid loan amount!");
-        }
-        if (!(DecisionEngineConstants.MINIMUM_LOAN_PERIOD <= loanPeriod)
-                || !(loanPeriod <= DecisionEngineConstants.MAXIMUM_LOAN_PERIOD)) {
-            throw new InvalidLoanPeriodException("Invalid loan period!");
-        }
+    /**
+     * Returns why the inputs are invalid, or null when they are valid.
+     */
+    public RejectionReason validate(String personalCode, Long loanAmount, int loanPeriod) {
+        return validate(ParsedPersonalCode.parse(personalCode), loanAmount, loanPeriod);
+    }
 
-        // Extract and verify age
-        int centuryIndicator = Character.getNumericValue(personalCode.charAt(0));
-        int yearIndicator = Integer.parseInt(personalCode.substring(1,3));
-        int day = Integer.parseInt(personalCode.substring(5, 7));
-        int month = Integer.parseInt(personalCode.substring(3,5));
-        int year;
-        int lifeExpectancy = 80; // Made up age
-        
-        // Build birth year
-        if (centuryIndicator == 3 || centuryIndicator == 4) {
-            year = 1900 + yearIndicator;
-        } else if (centuryIndicator == 5 || centuryIndicator == 6) {
-            year = 2000 + yearIndicator;
-        } else if (centuryIndicator == 7 || centuryIndicator == 8) {
-            year = 2100 + yearIndicator;
-        } else {
-            throw new InvalidPersonalCodeException("Unknown century indicator in personal code");
-        }
+    /**
+     * Same as {@link #validate(String, Long, int)} for a personal code that has already been parsed.
+     */
+    public RejectionReason validate(ParsedPersonalCode personalCode, Long loanAmount, int loanPeriod) {
 
-        // Build birthday
-        LocalDate birthDate = LocalDate.of(year, month, day);
+        if (!personalCode.isValid()) {
+            return RejectionReason.INVALID_PERSONAL_CODE;
+        }
 
-        // Calculate age
-        int age = Period.between(birthDate, LocalDate.now()).getYears();
+        DecisionPolicy policy = policyStore.current();
+        if (!(policy.getMinimumLoanAmount() <= loanAmount)
+                || !(loanAmount <= policy.getMaximumLoanAmount())) {
+            return RejectionReason.INVALID_LOAN_AMOUNT;
+        }
+        if (!(policy.getMinimumLoanPeriod() <= loanPeriod)
+                || !(loanPeriod <= policy.getMaximumLoanPeriod())) {
+            return RejectionReason.INVALID_LOAN_PERIOD;
+        }
 
-        System.out.println("Applicant age: " + age + " years old");
+        return validateAge(personalCode);
+    }
 
-        if (age < 18) {
-            throw new InvalidAgeException("Applicant is underage.");
+    /**
+     * Returns why the applicant cannot get any loan based on their personal code alone, or null when
+     * they can.
+     */
+    public RejectionReason validateApplicant(ParsedPersonalCode personalCode) {
+        if (!personalCode.isValid()) {
+            return RejectionReason.INVALID_PERSONAL_CODE;
         }
-        if (age > lifeExpectancy - (DecisionEngineConstants.MAXIMUM_LOAN_PERIOD / 12 )) {
-            throw new InvalidAgeException("Applicant exceeds max age.");
+        return validateAge(personalCode);
+    }
+
+    private RejectionReason validateAge(ParsedPersonalCode personalCode) {
+        // Indicators 1 and 2 are births in the 1800s
+        if (personalCode.getCenturyIndicator() < 3) {
+            return RejectionReason.UNKNOWN_CENTURY;
         }
-        
+        return ageEligibility.check(personalCode.getBirthEpochDay());
     }
 }
@@ -0,0 +1,115 @@
+package ee.taltech.inbankbackend.validator;
+
+import lombok.Getter;
+
+/**
+ * An Estonian personal code parsed in a single pass over its characters.
+ *
+ * {@link #parse(String)} checks the format, birth date and checksum the same way the
+ * java-personal-code validator does, and keeps the parts a decision needs as primitives: the century
+ * indicator, the birth date as an epoch day and the segment in the last four digits, next to the code
+ * itself. It never creates substrings or boxed numbers, so a request parses its code once and hands the
+ * result to every check.
+ */
+@Getter
+public final class ParsedPersonalCode {
+
+    private static final int LENGTH = 11;
+    private static final int[] WEIGHTS_1 = {1, 2, 3, 4, 5, 6, 7, 8, 9, 1};
+    private static final int[] WEIGHTS_2 = {3, 4, 5, 6, 7, 8, 9, 1, 2, 3};
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private static final ParsedPersonalCode INVALID = new ParsedPersonalCode(null, false, 0, 0, -1);
+
+    private final String personalCode;
+    private final boolean valid;
+    private final int centuryIndicator;
+    private final long birthEpochDay;
+    private final int segment;
+
+    private ParsedPersonalCode(String personalCode, boolean valid, int centuryIndicator, long birthEpochDay,
+            int segment) {
+        this.personalCode = personalCode;
+        this.valid = valid;
+        this.centuryIndicator = centuryIndicator;
+        this.birthEpochDay = birthEpochDay;
+        this.segment = segment;
+    }
+
+    /**
+     * Parses the personal code. Codes that are null, malformed, name an impossible date or fail the
+     * checksum all return the same shared invalid instance.
+     */
+    public static ParsedPersonalCode parse(String personalCode) {
+        if (personalCode == null || personalCode.length() != LENGTH) {
+            return INVALID;
+        }
+
+        int sum1 = 0;
+        int sum2 = 0;
+        int yearOfCentury = 0;
+        int month = 0;
+        int day = 0;
+        int segment = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = personalCode.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            if (i < LENGTH - 1) {
+                sum1 += digit * WEIGHTS_1[i];
+                sum2 += digit * WEIGHTS_2[i];
+            }
+            if (i == 1 || i == 2) {
+                yearOfCentury = yearOfCentury * 10 + digit;
+            } else if (i == 3 || i == 4) {
+                month = month * 10 + digit;
+            } else if (i == 5 || i == 6) {
+                day = day * 10 + digit;
+            }
+            if (i >= LENGTH - 4) {
+                segment = segment * 10 + digit;
+            }
+        }
+
+        int centuryIndicator = personalCode.charAt(0) - '0';
+        if (centuryIndicator < 1 || centuryIndicator > 6) {
+            return INVALID;
+        }
+        int year = 1800 + (centuryIndicator - 1) / 2 * 100 + yearOfCentury;
+        if (month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]
+                || (month == 2 && day == 29 && !isLeapYear(year))) {
+            return INVALID;
+        }
+
+        if (personalCode.charAt(LENGTH - 1) - '0' != checksum(sum1, sum2)) {
+            return INVALID;
+        }
+
+        return new ParsedPersonalCode(personalCode, true, centuryIndicator, epochDay(year, month, day), segment);
+    }
+
+    private static int checksum(int sum1, int sum2) {
+        int checksum = sum1 % 11;
+        if (checksum == 10) {
+            checksum = sum2 % 11;
+        }
+        return checksum == 10 ? 0 : checksum;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Days since 1970-01-01, the same value as {@code LocalDate.of(year, month, day).toEpochDay()}.
+     */
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,59 @@
+package ee.taltech.inbankbackend.warmup;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * How much the JIT compiler has done so far: the milliseconds it has spent compiling, and how many
+ * methods currently have compiled code, in total and in this application's packages.
+ *
+ * Method counts come from the HotSpot {@code Compiler.codelist} diagnostic command and are -1 on JVMs
+ * without it.
+ */
+record JitSnapshot(long compilationMillis, int compiledMethods, int compiledApplicationMethods) {
+
+    private static final String APPLICATION_PACKAGE = "ee.taltech.inbankbackend.";
+
+    /**
+     * Returns whether this JVM has a JIT compiler that reports its compilation time. Native images do not.
+     */
+    static boolean isSupported() {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        return compiler != null && compiler.isCompilationTimeMonitoringSupported();
+    }
+
+    /**
+     * Returns the milliseconds the JIT has spent compiling so far, without listing the compiled methods.
+     */
+    static long totalCompilationMillis() {
+        return ManagementFactory.getCompilationMXBean().getTotalCompilationTime();
+    }
+
+    static JitSnapshot take() {
+        long compilationMillis = totalCompilationMillis();
+        String codeList;
+        try {
+            codeList = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "compilerCodelist",
+                    new Object[] {null}, new String[] {String[].class.getName()});
+        } catch (JMException | RuntimeException e) {
+            return new JitSnapshot(compilationMillis, -1, -1);
+        }
+
+        int compiledMethods = 0;
+        int compiledApplicationMethods = 0;
+        for (String line : codeList.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            compiledMethods++;
+            if (line.contains(APPLICATION_PACKAGE)) {
+                compiledApplicationMethods++;
+            }
+        }
+        return new JitSnapshot(compilationMillis, compiledMethods, compiledApplicationMethods);
+    }
+}
@@ -0,0 +1,288 @@
+package ee.taltech.inbankbackend.warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+import ee.taltech.inbankbackend.service.DecisionInputsChangedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends synthetic decision requests through the running server until the JIT compiler has caught up, before
+ * the service reports itself ready.
+ *
+ * Application runners finish before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC}, so
+ * {@code /actuator/health/readiness} stays down while this runs. Requests go over HTTP to the service's own
+ * port, so they take the same path as real traffic: the web server, Jackson, the controller, the response
+ * cache and the engine. Every second the time the JIT spent compiling is checked; once it stays below
+ * {@code decision.warm-up.stable-compilation-time} for two seconds in a row, or after
+ * {@code decision.warm-up.max-duration}, the warm-up stops and caches are cleared of its decisions.
+ *
+ * {@code decision.warm-up.mix} weighs the three kinds of request: {@code approved} applicants in every
+ * segment, applicants with {@code debt}, and {@code invalid} requests with a bad code, amount or period.
+ *
+ * Every warm-up request carries the {@value #HEADER} header with a token drawn at random when the service
+ * starts, and the controllers decide those requests without auditing, journaling or counting them. A
+ * client cannot skip the audit by sending the header, since it does not know the token.
+ */
+@Component
+@ConditionalOnProperty(name = "decision.warm-up.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final long CHECK_INTERVAL_MILLIS = 1000;
+    private static final int STABLE_CHECKS = 2;
+
+    private static final String[] APPROVED_PERSONAL_CODES = {"50307172740", "38411266610", "47206157128",
+        "49001019127"};
+    private static final String DEBTOR_PERSONAL_CODE = "37605030299";
+
+    /**
+     * The request header warm-up requests carry their token in.
+     */
+    public static final String HEADER = "X-Warm-Up";
+
+    private static final byte[] TOKEN = newToken();
+
+    private final ApplicationContext context;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Duration maxDuration;
+    private final Duration stableCompilationTime;
+    private final int concurrency;
+    private final List<Function<ThreadLocalRandom, String>> requestMix;
+
+    private volatile WarmUpResult result;
+
+    public WarmUpRunner(ApplicationContext context, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${decision.warm-up.max-duration:PT60S}") Duration maxDuration,
+            @Value("${decision.warm-up.stable-compilation-time:50ms}") Duration stableCompilationTime,
+            @Value("${decision.warm-up.concurrency:2}") int concurrency,
+            @Value("${decision.warm-up.mix:approved:8,debt:1,invalid:1}") String mix) {
+        this.context = context;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.maxDuration = maxDuration;
+        this.stableCompilationTime = stableCompilationTime;
+        this.concurrency = concurrency;
+        this.requestMix = requestMix(mix);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!(context instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            log.info("Skipping warm-up: no web server to send requests to");
+            return;
+        }
+        if (!JitSnapshot.isSupported()) {
+            log.info("Skipping warm-up: this JVM has no JIT compiler to warm up");
+            return;
+        }
+
+        URI uri = URI.create("http://localhost:" + webContext.getWebServer().getPort() + "/loan/decision");
+        result = warmUp(uri);
+        registerMetrics();
+        log.info("Warm-up sent {} requests in {} ms, {}; the JIT spent {} ms compiling {} methods, {} of them "
+                + "in the application", result.requests(), TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()),
+                result.stabilized() ? "compilation stabilized" : "stopped at the maximum duration",
+                result.compilationMillis(), result.compiledMethods(), result.compiledApplicationMethods());
+
+        eventPublisher.publishEvent(new DecisionInputsChangedEvent(this));
+    }
+
+    private WarmUpResult warmUp(URI uri) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        LongAdder requests = new LongAdder();
+        LongAdder failures = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        JitSnapshot before = JitSnapshot.take();
+
+        List<Thread> senders = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread sender = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (!Thread.currentThread().isInterrupted() && System.nanoTime() < deadline) {
+                    String body = requestMix.get(random.nextInt(requestMix.size())).apply(random);
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(10))
+                            .header("Content-Type", "application/json")
+                            .header(HEADER, new String(TOKEN, StandardCharsets.US_ASCII))
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                        requests.increment();
+                    } catch (IOException e) {
+                        failures.increment();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "warm-up-" + i);
+            sender.setDaemon(true);
+            sender.start();
+            senders.add(sender);
+        }
+
+        boolean stabilized = false;
+        int stableChecks = 0;
+        long lastCompilationMillis = before.compilationMillis();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(CHECK_INTERVAL_MILLIS);
+            long compilationMillis = JitSnapshot.totalCompilationMillis();
+            log.debug("Warm-up: {} requests sent, JIT compiled for {} ms in the last second", requests.sum(),
+                    compilationMillis - lastCompilationMillis);
+            stableChecks = compilationMillis - lastCompilationMillis < stableCompilationTime.toMillis()
+                    ? stableChecks + 1 : 0;
+            lastCompilationMillis = compilationMillis;
+            if (stableChecks == STABLE_CHECKS) {
+                stabilized = true;
+                break;
+            }
+        }
+
+        for (Thread sender : senders) {
+            sender.interrupt();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        JitSnapshot after = JitSnapshot.take();
+        if (failures.sum() > 0) {
+            log.warn("{} warm-up requests failed", failures.sum());
+        }
+        return new WarmUpResult(requests.sum(), System.nanoTime() - start, stabilized,
+                after.compilationMillis() - before.compilationMillis(),
+                difference(after.compiledMethods(), before.compiledMethods()),
+                difference(after.compiledApplicationMethods(), before.compiledApplicationMethods()));
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("decision.warm-up.requests", this, runner -> runner.result.requests())
+                .description("Synthetic requests sent before the service reported ready")
+                .register(meterRegistry);
+        TimeGauge.builder("decision.warm-up.duration", this, TimeUnit.NANOSECONDS,
+                        runner -> runner.result.elapsedNanos())
+                .description("How long the warm-up delayed readiness")
+                .register(meterRegistry);
+        TimeGauge.builder("decision.warm-up.compilation", this, TimeUnit.MILLISECONDS,
+                        runner -> runner.result.compilationMillis())
+                .description("Time the JIT compiler spent compiling during the warm-up")
+                .register(meterRegistry);
+        Gauge.builder("decision.warm-up.compiled.methods", this, runner -> runner.result.compiledMethods())
+                .description("Methods that gained compiled code during the warm-up, -1 when unknown")
+                .tag("scope", "all")
+                .register(meterRegistry);
+        Gauge.builder("decision.warm-up.compiled.methods", this,
+                        runner -> runner.result.compiledApplicationMethods())
+                .description("Methods that gained compiled code during the warm-up, -1 when unknown")
+                .tag("scope", "application")
+                .register(meterRegistry);
+        Gauge.builder("decision.warm-up.stabilized", this, runner -> runner.result.stabilized() ? 1 : 0)
+                .description("1 when JIT compilation settled before the maximum duration, 0 when it did not")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether a request with this {@link #HEADER} value was sent by the warm-up.
+     */
+    public static boolean isWarmUp(String header) {
+        return header != null && MessageDigest.isEqual(TOKEN, header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] newToken() {
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        return HexFormat.of().formatHex(random).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int difference(int after, int before) {
+        return after < 0 || before < 0 ? -1 : Math.max(0, after - before);
+    }
+
+    /**
+     * Expands {@code kind:weight} pairs into a list where every kind appears as often as its weight.
+     */
+    static List<Function<ThreadLocalRandom, String>> requestMix(String mix) {
+        List<Function<ThreadLocalRandom, String>> requests = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.strip().split(":");
+            if (parts.length != 2) {
+                throw new IllegalStateException("decision.warm-up.mix entries must be kind:weight, got " + entry);
+            }
+            Function<ThreadLocalRandom, String> request = switch (parts[0].strip()) {
+                case "approved" -> WarmUpRunner::approvedRequest;
+                case "debt" -> WarmUpRunner::debtRequest;
+                case "invalid" -> WarmUpRunner::invalidRequest;
+                default -> throw new IllegalStateException("Unknown decision.warm-up.mix kind: " + parts[0]);
+            };
+            int weight = Integer.parseInt(parts[1].strip());
+            for (int i = 0; i < weight; i++) {
+                requests.add(request);
+            }
+        }
+        if (requests.isEmpty()) {
+            throw new IllegalStateException("decision.warm-up.mix has no requests with a positive weight");
+        }
+        return requests;
+    }
+
+    // Amounts and periods are spread over the whole range so most requests miss the response cache
+    private static String approvedRequest(ThreadLocalRandom random) {
+        return body(APPROVED_PERSONAL_CODES[random.nextInt(APPROVED_PERSONAL_CODES.length)],
+                2000 + 100 * random.nextInt(81), 12 + random.nextInt(49));
+    }
+
+    private static String debtRequest(ThreadLocalRandom random) {
+        return body(DEBTOR_PERSONAL_CODE, 2000 + 100 * random.nextInt(81), 12 + random.nextInt(49));
+    }
+
+    private static String invalidRequest(ThreadLocalRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> body("12345678901", 4000, 12);
+            case 1 -> body(APPROVED_PERSONAL_CODES[0], 100, 12);
+            case 2 -> body(APPROVED_PERSONAL_CODES[0], 4000, 6);
+            default -> body(APPROVED_PERSONAL_CODES[0], 4000, 72);
+        };
+    }
+
+    private static String body(String personalCode, int loanAmount, int loanPeriod) {
+        return "{\"personalCode\":\"" + personalCode + "\",\"loanAmount\":" + loanAmount + ",\"loanPeriod\":"
+                + loanPeriod + "}";
+    }
+
+    private record WarmUpResult(long requests, long elapsedNanos, boolean stabilized, long compilationMillis,
+            int compiledMethods, int compiledApplicationMethods) {
+    }
+}
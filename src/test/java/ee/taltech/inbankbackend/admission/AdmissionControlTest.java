@@ -0,0 +1,71 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.time.Duration;
+import java.util.Set;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ee.taltech.inbankbackend.admission.AdmissionControl.Admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // Every request is slower than the target latency of a nanosecond
+    private final AdmissionControl admissionControl = new AdmissionControl(registry, true, 100, 200, 100, Set.of(),
+            true, 8, 200, Duration.ofNanos(1));
+
+    @Test
+    void givenAdmittedBeforeReady_whenReleasedAfter_thenFreesNoSlot() {
+        Admission admission = admissionControl.admit("/loan/decision", null, "10.0.0.7");
+        ready(ReadinessState.ACCEPTING_TRAFFIC);
+        admissionControl.release(admission, System.nanoTime());
+
+        assertFalse(admission.holdsSlot());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void givenAdmittedWhileReady_whenReleasedAfterReadinessIsLost_thenFreesItsSlot() {
+        ready(ReadinessState.ACCEPTING_TRAFFIC);
+        Admission admission = admissionControl.admit("/loan/decision", null, "10.0.0.7");
+        ready(ReadinessState.REFUSING_TRAFFIC);
+        admissionControl.release(admission, System.nanoTime());
+
+        assertTrue(admission.holdsSlot());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void givenSlowBatchAndStreamRequests_whenReleased_thenLimitIsUnchanged() {
+        ready(ReadinessState.ACCEPTING_TRAFFIC);
+        for (String path : new String[] {"/loan/decisions/batch", "/loan/decisions/stream"}) {
+            Admission admission = admissionControl.admit(path, null, "10.0.0.7");
+            admissionControl.release(admission, System.nanoTime() - Duration.ofSeconds(5).toNanos());
+        }
+        assertEquals(200, limit());
+
+        Admission admission = admissionControl.admit("/loan/decision", null, "10.0.0.7");
+        admissionControl.release(admission, System.nanoTime() - Duration.ofSeconds(5).toNanos());
+        assertEquals(180, limit());
+        assertEquals(0, inFlight());
+    }
+
+    private void ready(ReadinessState state) {
+        admissionControl.onReadinessChanged(new AvailabilityChangeEvent<>(this, state));
+    }
+
+    private double inFlight() {
+        return registry.get("decision.admission.in.flight").gauge().value();
+    }
+
+    private double limit() {
+        return registry.get("decision.admission.limit").gauge().value();
+    }
+}
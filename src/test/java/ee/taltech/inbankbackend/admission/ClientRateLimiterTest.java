@@ -0,0 +1,56 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+
+    private long now = TimeUnit.HOURS.toNanos(1);
+    private final ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 1000, () -> now);
+
+    @Test
+    void givenFullBucket_whenBurstIsSpent_thenRejectsUntilTheNextInterval() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("partner"));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("partner"));
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertEquals(0, limiter.tryAcquire("partner"));
+        assertTrue(limiter.tryAcquire("partner") > 0);
+    }
+
+    @Test
+    void givenSpentClient_whenOtherClientAsks_thenItHasItsOwnBurst() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("abuser");
+        }
+
+        assertTrue(limiter.tryAcquire("abuser") > 0);
+        assertEquals(0, limiter.tryAcquire("partner"));
+    }
+
+    @Test
+    void givenSteadyRateAtTheLimit_whenRequestsKeepComing_thenAllAreAdmitted() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire("partner"));
+            now += TimeUnit.MILLISECONDS.toNanos(100);
+        }
+    }
+
+    @Test
+    void givenIdleClient_whenItReturns_thenItHasTheWholeBurstAgain() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("partner");
+        }
+        now += TimeUnit.SECONDS.toNanos(10);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("partner"));
+        }
+        assertTrue(limiter.tryAcquire("partner") > 0);
+    }
+}
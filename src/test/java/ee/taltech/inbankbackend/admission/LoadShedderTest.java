@@ -0,0 +1,64 @@
+package ee.taltech.inbankbackend.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadShedderTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private long now;
+    private final LoadShedder shedder = new LoadShedder(2, 20, TimeUnit.MILLISECONDS.toNanos(100), () -> now);
+
+    @Test
+    void givenLimitReached_whenTryEnter_thenShedsUntilASlotIsFree() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(shedder.tryEnter());
+        }
+
+        assertFalse(shedder.tryEnter());
+        shedder.exit(FAST);
+        assertTrue(shedder.tryEnter());
+    }
+
+    @Test
+    void givenSlowRequestsTogether_whenTheyComplete_thenLimitIsCutOnce() {
+        for (int i = 0; i < 10; i++) {
+            shedder.tryEnter();
+        }
+        for (int i = 0; i < 10; i++) {
+            shedder.exit(SLOW);
+        }
+
+        assertEquals(18, shedder.limit());
+    }
+
+    @Test
+    void givenSlowRequests_whenTheyKeepCompleting_thenLimitShrinksToTheMinimumAndGrowsBackWhenFast() {
+        for (int i = 0; i < 50; i++) {
+            shedder.tryEnter();
+            shedder.exit(SLOW);
+            now += SLOW;
+        }
+        assertEquals(2, shedder.limit());
+
+        // Requests that fill the limit and complete quickly let it grow by one each
+        for (int i = 0; i < 5; i++) {
+            int limit = shedder.limit();
+            for (int j = 0; j < limit; j++) {
+                assertTrue(shedder.tryEnter());
+            }
+            assertFalse(shedder.tryEnter());
+            for (int j = 0; j < limit; j++) {
+                shedder.exit(FAST);
+            }
+        }
+        assertTrue(shedder.limit() > 2);
+        assertEquals(0, shedder.inFlight());
+    }
+}
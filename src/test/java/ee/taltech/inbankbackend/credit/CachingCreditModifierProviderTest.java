@@ -0,0 +1,101 @@
+package ee.taltech.inbankbackend.credit;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ee.taltech.inbankbackend.validator.ParsedPersonalCode;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingCreditModifierProviderTest {
+
+    private static final ParsedPersonalCode APPLICANT = ParsedPersonalCode.parse("38411266610");
+    private static final ParsedPersonalCode OTHER_APPLICANT = ParsedPersonalCode.parse("50307172740");
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger creditModifier = new AtomicInteger(300);
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final CachingCreditModifierProvider provider = new CachingCreditModifierProvider(
+            personalCode -> {
+                lookups.incrementAndGet();
+                return creditModifier.get();
+            },
+            1, Duration.ofMinutes(30), Duration.ofMinutes(5), nanos::get, Runnable::run);
+
+    @Test
+    void givenRepeatApplicant_whenGetCreditModifier_thenSkipsLookup() {
+        assertEquals(300, provider.getCreditModifier(APPLICANT));
+        assertEquals(300, provider.getCreditModifier(APPLICANT));
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, provider.stats().hitCount());
+        assertEquals(1, provider.stats().missCount());
+    }
+
+    /**
+     * The refresh runs on the calling thread here, so the reloaded value is already there when the
+     * request returns; it still counts as a hit rather than a miss.
+     */
+    @Test
+    void givenEntryOlderThanRefresh_whenGetCreditModifier_thenReloadsWithoutMiss() {
+        provider.getCreditModifier(APPLICANT);
+        creditModifier.set(1000);
+        advance(Duration.ofMinutes(6));
+
+        assertEquals(1000, provider.getCreditModifier(APPLICANT));
+        assertEquals(2, lookups.get());
+        assertEquals(1, provider.stats().missCount());
+    }
+
+    @Test
+    void givenEntryOlderThanRefresh_whenGetCreditModifier_thenReloadsOnTheRefreshThreads() throws Exception {
+        AtomicReference<String> refreshThread = new AtomicReference<>();
+        CountDownLatch refreshed = new CountDownLatch(1);
+        try (CachingCreditModifierProvider refreshing = new CachingCreditModifierProvider(
+                personalCode -> {
+                    if (lookups.getAndIncrement() > 0) {
+                        refreshThread.set(Thread.currentThread().getName());
+                        refreshed.countDown();
+                    }
+                    return 300;
+                },
+                1, Duration.ofMinutes(30), Duration.ofMillis(1), 1)) {
+            refreshing.getCreditModifier(APPLICANT);
+            Thread.sleep(5);
+            refreshing.getCreditModifier(APPLICANT);
+
+            assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+            assertEquals("credit-modifier-refresh", refreshThread.get());
+        }
+    }
+
+    @Test
+    void givenEntryOlderThanExpiry_whenGetCreditModifier_thenLoadsAgain() {
+        provider.getCreditModifier(APPLICANT);
+        creditModifier.set(1000);
+        advance(Duration.ofMinutes(31));
+
+        assertEquals(1000, provider.getCreditModifier(APPLICANT));
+        assertEquals(2, provider.stats().missCount());
+    }
+
+    @Test
+    void givenFullCache_whenNewApplicant_thenEvicts() {
+        provider.getCreditModifier(APPLICANT);
+        provider.getCreditModifier(OTHER_APPLICANT);
+
+        assertEquals(2, lookups.get());
+        assertEquals(1, provider.stats().evictionCount());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+    }
+}
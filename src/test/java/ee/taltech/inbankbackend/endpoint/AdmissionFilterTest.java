@@ -0,0 +1,123 @@
+package ee.taltech.inbankbackend.endpoint;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import ee.taltech.inbankbackend.admission.AdmissionControl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * This class holds integration tests for admission control in front of the decision endpoints, with a
+ * burst small enough to spend in a test. MockMvc requests come from 127.0.0.1, which is trusted to name
+ * its clients.
+ */
+@SpringBootTest(properties = {
+    "decision.rate-limit.enabled=true",
+    "decision.rate-limit.requests-per-second=0.1",
+    "decision.rate-limit.burst=2",
+    "decision.rate-limit.trusted-addresses=127.0.0.1"
+})
+@AutoConfigureMockMvc
+public class AdmissionFilterTest {
+
+    private static final String REQUEST = "{\"personalCode\":\"50307172740\",\"loanAmount\":4000,\"loanPeriod\":12}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    /**
+     * This test ensures that a client past its burst gets Too Many Requests (429) with a Retry-After header,
+     * while another client is still answered.
+     */
+    @Test
+    public void givenClientPastItsBurst_whenRequestDecision_thenReturnsTooManyRequestsForItOnly() throws Exception {
+        decision("abuser").andExpect(status().isOk());
+        decision("abuser").andExpect(status().isOk());
+
+        decision("abuser")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.errorMessage").value("Too many requests!"));
+        decision("partner").andExpect(status().isOk());
+    }
+
+    /**
+     * This test ensures that a client at an untrusted address cannot dodge its limit by sending a new
+     * X-Api-Client header with every request.
+     */
+    @Test
+    public void givenUntrustedAddressRotatingItsHeader_whenRequestDecision_thenLimitsTheAddress() throws Exception {
+        decision("rotating-1", "10.0.0.7").andExpect(status().isOk());
+        decision("rotating-2", "10.0.0.7").andExpect(status().isOk());
+
+        decision("rotating-3", "10.0.0.7").andExpect(status().isTooManyRequests());
+        decision("rotating-4", "10.0.0.8").andExpect(status().isOk());
+    }
+
+    /**
+     * This test ensures that endpoints outside the decision API are never limited.
+     */
+    @Test
+    public void givenClientPastItsBurst_whenRequestHealth_thenReturnsOk() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            decision("monitor");
+        }
+
+        mockMvc.perform(get("/actuator/health").header(AdmissionControl.CLIENT_HEADER, "monitor"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * This test ensures that a stream request keeps its in-flight slot until its response has been
+     * written asynchronously, not just until the filter chain returns.
+     */
+    @Test
+    public void givenStreamRequest_whenAnsweredAsynchronously_thenHoldsItsSlotUntilComplete() throws Exception {
+        MvcResult result = mockMvc.perform(post("/loan/decisions/stream")
+                        .header(AdmissionControl.CLIENT_HEADER, "streamer")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(REQUEST + "\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, inFlight());
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertEquals(0, inFlight());
+    }
+
+    private double inFlight() {
+        return registry.get("decision.admission.in.flight").gauge().value();
+    }
+
+    private ResultActions decision(String client) throws Exception {
+        return decision(client, "127.0.0.1");
+    }
+
+    private ResultActions decision(String client, String remoteAddress) throws Exception {
+        return mockMvc.perform(post("/loan/decision")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                })
+                .header(AdmissionControl.CLIENT_HEADER, client)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST));
+    }
+}
@@ -2,15 +2,23 @@ package ee.taltech.inbankbackend.endpoint;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.controller.DecisionBinaryMessageConverter;
+import ee.taltech.inbankbackend.controller.DecisionEngineController;
+import ee.taltech.inbankbackend.dto.DecisionExplanation;
 import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
 import ee.taltech.inbankbackend.dto.DecisionResponseDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.LoanOffersResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
 import ee.taltech.inbankbackend.exception.InvalidAgeException;
 import ee.taltech.inbankbackend.exception.InvalidLoanAmountException;
 import ee.taltech.inbankbackend.exception.InvalidLoanPeriodException;
 import ee.taltech.inbankbackend.exception.InvalidPersonalCodeException;
 import ee.taltech.inbankbackend.exception.NoValidLoanException;
 import ee.taltech.inbankbackend.service.DecisionEngineService;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,17 +32,26 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
- * This class holds integration tests for the DecisionEngineController endpoint.
+ * This class holds integration tests for the DecisionEngineController endpoint. The decision engine is
+ * mocked differently in every test, so cached decisions are turned off.
  */
-@SpringBootTest
+@SpringBootTest(properties = "decision.response-cache.enabled=false")
 @AutoConfigureMockMvc
 @ExtendWith(SpringExtension.class)
 @ExtendWith(MockitoExtension.class)
@@ -60,8 +77,8 @@ public class DecisionEngineControllerTest {
     public void givenValidRequest_whenRequestDecision_thenReturnsExpectedResponse()
             throws Exception, InvalidLoanPeriodException, NoValidLoanException, InvalidPersonalCodeException,
             InvalidLoanAmountException, InvalidAgeException {
-        DecisionDTO decision = new DecisionDTO(1000, 12, null);
-        when(decisionEngine.calculateApprovedLoan(anyString(), anyLong(), anyInt())).thenReturn(decision);
+        DecisionResult decision = DecisionResult.approved(1000, 12);
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt())).thenReturn(decision);
 
         DecisionRequestDTO request = new DecisionRequestDTO("1234", 10L, 10);
 
@@ -89,8 +106,8 @@ public class DecisionEngineControllerTest {
     public void givenInvalidPersonalCode_whenRequestDecision_thenReturnsBadRequest()
             throws Exception, InvalidLoanPeriodException, NoValidLoanException, InvalidPersonalCodeException,
             InvalidLoanAmountException, InvalidAgeException {
-        when(decisionEngine.calculateApprovedLoan(anyString(), anyLong(), anyInt()))
-                .thenThrow(new InvalidPersonalCodeException("Invalid personal code"));
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.INVALID_PERSONAL_CODE));
 
         DecisionRequestDTO request = new DecisionRequestDTO("1234", 10L, 10);
 
@@ -101,13 +118,13 @@ public class DecisionEngineControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.loanAmount").isEmpty())
                 .andExpect(jsonPath("$.loanPeriod").isEmpty())
-                .andExpect(jsonPath("$.errorMessage").value("Invalid personal code"))
+                .andExpect(jsonPath("$.errorMessage").value("Invalid personal ID code!"))
                 .andReturn();
 
         DecisionResponseDTO response = objectMapper.readValue(result.getResponse().getContentAsString(), DecisionResponseDTO.class);
         assert response.getLoanAmount() == null;
         assert response.getLoanPeriod() == null;
-        assert response.getErrorMessage().equals("Invalid personal code");
+        assert response.getErrorMessage().equals("Invalid personal ID code!");
     }
 
     /**
@@ -118,8 +135,8 @@ public class DecisionEngineControllerTest {
     public void givenInvalidLoanAmount_whenRequestDecision_thenReturnsBadRequest()
             throws Exception, InvalidLoanPeriodException, NoValidLoanException, InvalidPersonalCodeException,
             InvalidLoanAmountException, InvalidAgeException {
-        when(decisionEngine.calculateApprovedLoan(anyString(), anyLong(), anyInt()))
-                .thenThrow(new InvalidLoanAmountException("Invalid loan amount"));
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.INVALID_LOAN_AMOUNT));
 
         DecisionRequestDTO request = new DecisionRequestDTO("1234", 10L, 10);
 
@@ -130,13 +147,13 @@ public class DecisionEngineControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.loanAmount").isEmpty())
                 .andExpect(jsonPath("$.loanPeriod").isEmpty())
-                .andExpect(jsonPath("$.errorMessage").value("Invalid loan amount"))
+                .andExpect(jsonPath("$.errorMessage").value("Invalid loan amount!"))
                 .andReturn();
 
         DecisionResponseDTO response = objectMapper.readValue(result.getResponse().getContentAsString(), DecisionResponseDTO.class);
         assert response.getLoanAmount() == null;
         assert response.getLoanPeriod() == null;
-        assert response.getErrorMessage().equals("Invalid loan amount");
+        assert response.getErrorMessage().equals("Invalid loan amount!");
     }
 
     /**
@@ -147,8 +164,8 @@ public class DecisionEngineControllerTest {
     public void givenInvalidLoanPeriod_whenRequestDecision_thenReturnsBadRequest()
             throws Exception, InvalidLoanPeriodException, NoValidLoanException, InvalidPersonalCodeException,
             InvalidLoanAmountException, InvalidAgeException {
-        when(decisionEngine.calculateApprovedLoan(anyString(), anyLong(), anyInt()))
-                .thenThrow(new InvalidLoanPeriodException("Invalid loan period"));
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.INVALID_LOAN_PERIOD));
 
         DecisionRequestDTO request = new DecisionRequestDTO("1234", 10L, 10);
 
@@ -159,13 +176,13 @@ public class DecisionEngineControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.loanAmount").isEmpty())
                 .andExpect(jsonPath("$.loanPeriod").isEmpty())
-                .andExpect(jsonPath("$.errorMessage").value("Invalid loan period"))
+                .andExpect(jsonPath("$.errorMessage").value("Invalid loan period!"))
                 .andReturn();
 
         DecisionResponseDTO response = objectMapper.readValue(result.getResponse().getContentAsString(), DecisionResponseDTO.class);
         assert response.getLoanAmount() == null;
         assert response.getLoanPeriod() == null;
-        assert response.getErrorMessage().equals("Invalid loan period");
+        assert response.getErrorMessage().equals("Invalid loan period!");
     }
 
     /**
@@ -176,8 +193,8 @@ public class DecisionEngineControllerTest {
     public void givenNoValidLoan_whenRequestDecision_thenReturnsBadRequest()
             throws Exception, InvalidLoanPeriodException, NoValidLoanException, InvalidPersonalCodeException,
             InvalidLoanAmountException, InvalidAgeException {
-        when(decisionEngine.calculateApprovedLoan(anyString(), anyLong(), anyInt()))
-                .thenThrow(new NoValidLoanException("No valid loan available"));
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.NO_VALID_LOAN));
 
         DecisionRequestDTO request = new DecisionRequestDTO("1234", 1000L, 12);
 
@@ -188,13 +205,13 @@ public class DecisionEngineControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.loanAmount").isEmpty())
                 .andExpect(jsonPath("$.loanPeriod").isEmpty())
-                .andExpect(jsonPath("$.errorMessage").value("No valid loan available"))
+                .andExpect(jsonPath("$.errorMessage").value("No valid loan found!"))
                 .andReturn();
 
         DecisionResponseDTO response = objectMapper.readValue(result.getResponse().getContentAsString(), DecisionResponseDTO.class);
         assert response.getLoanAmount() == null;
         assert response.getLoanPeriod() == null;
-        assert response.getErrorMessage().equals("No valid loan available");
+        assert response.getErrorMessage().equals("No valid loan found!");
     }
 
     /**
@@ -205,7 +222,7 @@ public class DecisionEngineControllerTest {
     public void givenUnexpectedError_whenRequestDecision_thenReturnsInternalServerError()
             throws Exception, InvalidLoanPeriodException, NoValidLoanException, InvalidPersonalCodeException,
             InvalidLoanAmountException, InvalidAgeException {
-        when(decisionEngine.calculateApprovedLoan(anyString(), anyLong(), anyInt())).thenThrow(new RuntimeException());
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt())).thenThrow(new RuntimeException());
 
         DecisionRequestDTO request = new DecisionRequestDTO("1234", 10L, 10);
 
@@ -224,4 +241,227 @@ public class DecisionEngineControllerTest {
         assert response.getLoanPeriod() == null;
         assert response.getErrorMessage().equals("An unexpected error occurred");
     }
+
+    /**
+     * This test ensures that an approval carries a strong ETag and that a request naming the same decision
+     * in If-None-Match gets an empty Not Modified (304) response.
+     */
+    @Test
+    public void givenMatchingIfNoneMatch_whenRequestDecision_thenReturnsNotModified() throws Exception {
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.approved(3600, 12));
+        String request = objectMapper.writeValueAsString(new DecisionRequestDTO("50307172740", 4000L, 12));
+
+        mockMvc.perform(post("/loan/decision")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3600-12\""));
+
+        mockMvc.perform(post("/loan/decision")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", "\"2000-12\", \"3600-12\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    /**
+     * This test ensures that the decision endpoint speaks the binary format when the client sends and
+     * accepts it, with the same decision as the JSON request.
+     */
+    @Test
+    public void givenBinaryRequest_whenRequestDecision_thenReturnsBinaryResponse() throws Exception {
+        when(decisionEngine.evaluate(eq("50307172740"), eq(4000L), eq(12)))
+                .thenReturn(DecisionResult.approved(3600, 12));
+        byte[] request = DecisionBinaryMessageConverter.writeRequest(new DecisionRequestDTO("50307172740", 4000L, 12));
+
+        MvcResult result = mockMvc.perform(post("/loan/decision")
+                        .content(request)
+                        .contentType(DecisionBinaryMessageConverter.MEDIA_TYPE)
+                        .accept(DecisionBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(DecisionBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(header().string("ETag", "\"3600-12\""))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        DecisionResponseDTO response = DecisionBinaryMessageConverter.readResponse(body);
+        assertEquals(19, request.length);
+        assertEquals(9, body.length);
+        assertEquals(3600, response.getLoanAmount());
+        assertEquals(12, response.getLoanPeriod());
+        assertNull(response.getErrorMessage());
+    }
+
+    /**
+     * This test ensures that a rejection in the binary format carries the same status and error message
+     * as in JSON.
+     */
+    @Test
+    public void givenBinaryRequestForDebtor_whenRequestDecision_thenReturnsBinaryRejection() throws Exception {
+        when(decisionEngine.evaluate(anyString(), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.DEBT));
+
+        MvcResult result = mockMvc.perform(post("/loan/decision")
+                        .content(DecisionBinaryMessageConverter.writeRequest(
+                                new DecisionRequestDTO("37605030299", 4000L, 12)))
+                        .contentType(DecisionBinaryMessageConverter.MEDIA_TYPE)
+                        .accept(DecisionBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        DecisionResponseDTO response = DecisionBinaryMessageConverter.readResponse(
+                result.getResponse().getContentAsByteArray());
+        assertNull(response.getLoanAmount());
+        assertEquals("No valid loan found!", response.getErrorMessage());
+    }
+
+    /**
+     * This test ensures that a truncated binary request is answered with a Bad Request (400).
+     */
+    @Test
+    public void givenTruncatedBinaryRequest_whenRequestDecision_thenReturnsBadRequest() throws Exception {
+        byte[] request = DecisionBinaryMessageConverter.writeRequest(new DecisionRequestDTO("50307172740", 4000L, 12));
+
+        mockMvc.perform(post("/loan/decision")
+                        .content(Arrays.copyOf(request, 10))
+                        .contentType(DecisionBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid request"));
+    }
+
+    /**
+     * This test ensures that the batch endpoint returns a result for every item in request order and that
+     * a rejected item only carries its own error message without aborting the rest of the batch.
+     */
+    @Test
+    public void givenMixedBatch_whenRequestDecisions_thenReturnsPerItemResultsInOrder() throws Exception {
+        when(decisionEngine.evaluate(eq("approved"), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.approved(3600, 12));
+        when(decisionEngine.evaluate(eq("invalid"), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.INVALID_PERSONAL_CODE));
+        when(decisionEngine.evaluate(eq("debtor"), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.DEBT));
+
+        List<DecisionRequestDTO> requests = List.of(
+                new DecisionRequestDTO("invalid", 4000L, 12),
+                new DecisionRequestDTO("approved", 4000L, 12),
+                new DecisionRequestDTO("debtor", 4000L, 12));
+
+        mockMvc.perform(post("/loan/decisions/batch")
+                        .content(objectMapper.writeValueAsString(requests))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].loanAmount").isEmpty())
+                .andExpect(jsonPath("$[0].errorMessage").value("Invalid personal ID code!"))
+                .andExpect(jsonPath("$[1].loanAmount").value(3600))
+                .andExpect(jsonPath("$[1].loanPeriod").value(12))
+                .andExpect(jsonPath("$[1].errorMessage").isEmpty())
+                .andExpect(jsonPath("$[2].loanAmount").isEmpty())
+                .andExpect(jsonPath("$[2].errorMessage").value("No valid loan found!"));
+    }
+
+    /**
+     * This test ensures that an empty batch is rejected with an HTTP Bad Request (400) response.
+     */
+    @Test
+    public void givenEmptyBatch_whenRequestDecisions_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/loan/decisions/batch")
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid batch size!"));
+    }
+
+    /**
+     * This test ensures that the offers endpoint returns the parallel period and amount arrays with caching
+     * headers, and an empty Not Modified (304) response when the client already has them.
+     */
+    @Test
+    public void givenOffers_whenRequestOffers_thenReturnsCacheableCurve() throws Exception {
+        LoanOffersResult offers = LoanOffersResult.offers(new int[] {12, 13}, new int[] {0, 2000});
+        when(decisionEngine.offers("50307172740")).thenReturn(offers);
+
+        MvcResult result = mockMvc.perform(get("/loan/offers").header(DecisionEngineController.PERSONAL_CODE_HEADER, "50307172740"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loanPeriods[1]").value(13))
+                .andExpect(jsonPath("$.loanAmounts[0]").value(0))
+                .andExpect(jsonPath("$.loanAmounts[1]").value(2000))
+                .andExpect(header().string("Cache-Control", "max-age=300, private"))
+                .andReturn();
+        assertTrue(result.getResponse().getHeaders("Vary")
+                .contains(DecisionEngineController.PERSONAL_CODE_HEADER));
+
+        mockMvc.perform(get("/loan/offers").header(DecisionEngineController.PERSONAL_CODE_HEADER, "50307172740")
+                        .header("If-None-Match", result.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    /**
+     * This test ensures that the offers endpoint does not take the personal code from the URL, where it would
+     * end up in access logs and browser history.
+     */
+    @Test
+    public void givenPersonalCodeInQuery_whenRequestOffers_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/loan/offers").param("personalCode", "50307172740"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid request"));
+        verify(decisionEngine, never()).offers(anyString());
+    }
+
+    /**
+     * This test ensures that an applicant with debt gets the same error as the decision endpoint.
+     */
+    @Test
+    public void givenDebtor_whenRequestOffers_thenReturnsNotFound() throws Exception {
+        when(decisionEngine.offers(anyString())).thenReturn(LoanOffersResult.rejected(RejectionReason.DEBT));
+
+        mockMvc.perform(get("/loan/offers").header(DecisionEngineController.PERSONAL_CODE_HEADER, "37605030299"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.errorMessage").value("No valid loan found!"));
+    }
+
+    /**
+     * This test ensures that explain=true returns the explanation the engine filled in along with the
+     * decision, and that a plain request has no explanation field at all.
+     */
+    @Test
+    public void givenExplainRequested_whenRequestDecision_thenReturnsDecisionWithExplanation() throws Exception {
+        when(decisionEngine.explain(eq("50307172740"), eq(4000L), eq(12), any(DecisionExplanation.class)))
+                .thenAnswer(invocation -> {
+                    DecisionExplanation explanation = invocation.getArgument(3);
+                    explanation.setCreditModifier(100);
+                    explanation.setCreditSegment(1);
+                    explanation.setRequestedScore(0.03);
+                    explanation.setGrantedScore(0.1);
+                    explanation.setPeriodsExtended(8);
+                    return DecisionResult.approved(2000, 20);
+                });
+        when(decisionEngine.evaluate(eq("50307172740"), eq(4000L), eq(12)))
+                .thenReturn(DecisionResult.approved(2000, 20));
+        String request = objectMapper.writeValueAsString(new DecisionRequestDTO("50307172740", 4000L, 12));
+
+        mockMvc.perform(post("/loan/decision").param("explain", "true")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.loanAmount").value(2000))
+                .andExpect(jsonPath("$.explanation.creditModifier").value(100))
+                .andExpect(jsonPath("$.explanation.creditSegment").value(1))
+                .andExpect(jsonPath("$.explanation.requestedScore").value(0.03))
+                .andExpect(jsonPath("$.explanation.grantedScore").value(0.1))
+                .andExpect(jsonPath("$.explanation.periodsExtended").value(8));
+
+        mockMvc.perform(post("/loan/decision")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.explanation").doesNotExist());
+    }
 }
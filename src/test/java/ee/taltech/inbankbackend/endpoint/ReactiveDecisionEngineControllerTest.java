@@ -0,0 +1,142 @@
+package ee.taltech.inbankbackend.endpoint;
+
+import ee.taltech.inbankbackend.dto.DecisionRequestDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * This class holds integration tests for the reactive build of the decision endpoints. They mirror the
+ * servlet controller tests, so both builds answer the same requests the same way.
+ */
+@SpringBootTest(properties = {
+    "spring.main.web-application-type=reactive",
+    "decision.response-cache.enabled=false"
+})
+@AutoConfigureWebTestClient
+public class ReactiveDecisionEngineControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private DecisionEngineService decisionEngine;
+
+    /**
+     * This test ensures that an approval carries a strong ETag and that a request naming the same decision
+     * in If-None-Match gets an empty Not Modified (304) response.
+     */
+    @Test
+    public void givenValidRequest_whenRequestDecision_thenReturnsDecisionWithEntityTag() {
+        when(decisionEngine.evaluate(eq("50307172740"), eq(4000L), eq(12)))
+                .thenReturn(DecisionResult.approved(3600, 12));
+        DecisionRequestDTO request = new DecisionRequestDTO("50307172740", 4000L, 12);
+
+        webTestClient.post().uri("/loan/decision")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3600-12\"")
+                .expectBody()
+                .jsonPath("$.loanAmount").isEqualTo(3600)
+                .jsonPath("$.loanPeriod").isEqualTo(12)
+                .jsonPath("$.errorMessage").isEmpty();
+
+        webTestClient.post().uri("/loan/decision")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-None-Match", "\"3600-12\"")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    /**
+     * This test ensures that a rejection gets the same status and error message as the servlet controller.
+     */
+    @Test
+    public void givenDebtor_whenRequestDecision_thenReturnsNotFound() {
+        when(decisionEngine.evaluate(eq("37605030299"), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.DEBT));
+
+        webTestClient.post().uri("/loan/decision")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DecisionRequestDTO("37605030299", 4000L, 12))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorMessage").isEqualTo("No valid loan found!");
+    }
+
+    /**
+     * This test ensures that the batch endpoint keeps request order and that an empty batch is rejected.
+     */
+    @Test
+    public void givenMixedBatch_whenRequestDecisions_thenReturnsPerItemResultsInOrder() {
+        when(decisionEngine.evaluate(eq("approved"), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.approved(3600, 12));
+        when(decisionEngine.evaluate(eq("debtor"), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.rejected(RejectionReason.DEBT));
+
+        webTestClient.post().uri("/loan/decisions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        new DecisionRequestDTO("debtor", 4000L, 12),
+                        new DecisionRequestDTO("approved", 4000L, 12)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].errorMessage").isEqualTo("No valid loan found!")
+                .jsonPath("$[1].loanAmount").isEqualTo(3600);
+
+        webTestClient.post().uri("/loan/decisions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorMessage").isEqualTo("Invalid batch size!");
+    }
+
+    /**
+     * This test ensures that the stream endpoint answers every line in order and that an unreadable line
+     * only gets an error of its own.
+     */
+    @Test
+    public void givenNdjsonStream_whenStreamDecisions_thenReturnsOneLinePerRequest() {
+        when(decisionEngine.evaluate(eq("approved"), anyLong(), anyInt()))
+                .thenReturn(DecisionResult.approved(3600, 12));
+
+        String body = "{\"personalCode\":\"approved\",\"loanAmount\":4000,\"loanPeriod\":12}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"personalCode\":\"approved\",\"loanAmount\":4000,\"loanPeriod\":12}\n";
+
+        webTestClient.post().uri("/loan/decisions/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .isEqualTo("{\"loanAmount\":3600,\"loanPeriod\":12,\"errorMessage\":null}\n"
+                        + "{\"loanAmount\":null,\"loanPeriod\":null,\"errorMessage\":\"Invalid request\"}\n"
+                        + "{\"loanAmount\":3600,\"loanPeriod\":12,\"errorMessage\":null}\n");
+    }
+}
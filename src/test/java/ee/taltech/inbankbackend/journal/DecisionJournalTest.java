@@ -0,0 +1,253 @@
+package ee.taltech.inbankbackend.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.exception.JournalUnavailableException;
+import ee.taltech.inbankbackend.journal.JournalRecord.Outcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.util.unit.DataSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecisionJournalTest {
+
+    // A header and ten records, so a few dozen decisions span several segments
+    private static final DataSize SEGMENT_SIZE = DataSize.ofBytes(JournalSegmentWriter.HEADER_SIZE
+            + 10 * JournalRecord.SIZE);
+    private static final Instant START = Instant.parse("2026-10-18T08:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    void givenDecisions_whenJournaledAcrossSegments_thenReadsBackEveryFieldInOrder() throws IOException {
+        try (DecisionJournal journal = journal()) {
+            for (int i = 0; i < 25; i++) {
+                journal.append(Outcome.APPROVED, null, "50307172740", 4000 + i, 12, 100, 3600, 12);
+            }
+            journal.append(Outcome.REJECTED, RejectionReason.DEBT, "37605030299", 4000, 12, 0, 0, 0);
+            journal.append(Outcome.INVALID, RejectionReason.INVALID_PERSONAL_CODE, "a personal code that is too long",
+                    4000, 12, -1, 0, 0);
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.ScanSummary summary = new JournalReader(directory).scan(Long.MIN_VALUE, Long.MAX_VALUE / 2,
+                records::add);
+
+        assertEquals(3, summary.segments());
+        assertEquals(27, summary.recordsMatched());
+        assertTrue(summary.problems().isEmpty(), summary.problems()::toString);
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, records.get(i).sequence());
+        }
+        assertEquals(new JournalRecord(3, START.toEpochMilli(), Outcome.APPROVED, null, "50307172740", 4003, 12, 100,
+                3600, 12), records.get(3));
+        assertEquals(RejectionReason.DEBT, records.get(25).rejectionReason());
+        assertEquals("a personal code ", records.get(26).personalCode());
+        assertEquals(-1, records.get(26).creditModifier());
+    }
+
+    @Test
+    void givenTornRecord_whenReopened_thenOverwritesItAndContinuesTheSequence() throws IOException {
+        try (DecisionJournal journal = journal()) {
+            for (int i = 0; i < 5; i++) {
+                journal.append(Outcome.APPROVED, null, "50307172740", 4000, 12, 100, 3600, 12);
+            }
+        }
+        // A crash in the middle of the sixth record leaves part of it behind
+        Path segment = JournalSegmentWriter.segments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 0, 0, 0, 0, 5, 1, 2, 3}),
+                    JournalSegmentWriter.HEADER_SIZE + 5 * JournalRecord.SIZE);
+        }
+        assertEquals(List.of(segment.getFileName() + " has a damaged record at sequence 5"),
+                new JournalReader(directory).scan(Long.MIN_VALUE, Long.MAX_VALUE / 2, record -> { }).problems());
+
+        try (DecisionJournal journal = journal()) {
+            journal.append(Outcome.REJECTED, RejectionReason.DEBT, "37605030299", 4000, 12, 0, 0, 0);
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.ScanSummary summary = new JournalReader(directory).scan(Long.MIN_VALUE, Long.MAX_VALUE / 2,
+                records::add);
+        assertTrue(summary.problems().isEmpty(), summary.problems()::toString);
+        assertEquals(6, records.size());
+        assertEquals(5, records.get(5).sequence());
+        assertEquals(Outcome.REJECTED, records.get(5).outcome());
+    }
+
+    @Test
+    void givenTimeRange_whenScan_thenSkipsSegmentsBeforeItAndReturnsOnlyRecordsInIt() throws IOException {
+        try (DecisionJournal journal = journal()) {
+            for (int minute = 0; minute < 60; minute++) {
+                clock.instant = START.plus(Duration.ofMinutes(minute));
+                journal.append(Outcome.APPROVED, null, "50307172740", 4000, 12, 100, 3600, 12);
+                // Wait for the writer, so each segment's start time is taken in its own minute
+                awaitWritten(minute + 1);
+            }
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.ScanSummary summary = new JournalReader(directory).scan(
+                START.plus(Duration.ofMinutes(35)).toEpochMilli(), START.plus(Duration.ofMinutes(45)).toEpochMilli(),
+                records::add);
+
+        assertEquals(10, records.size());
+        assertEquals(35, records.get(0).sequence());
+        assertEquals(44, records.get(9).sequence());
+        // The segments of records 0 to 29 are skipped, and reading stops at record 46, past the range and skew
+        assertEquals(17, summary.recordsRead());
+    }
+
+    @Test
+    void givenFullRing_whenAppend_thenWaitsForTheWriterAndRefusesOnlyAfterTheTimeout() throws Exception {
+        CountDownLatch writerStalled = new CountDownLatch(1);
+        clock.writerGate = new CountDownLatch(1);
+        clock.writerStalled = writerStalled;
+        int accepted = 0;
+        try (DecisionJournal journal = journal(directory, Duration.ofSeconds(2))) {
+            // The writer stalls opening the second segment, so the ring of 64 fills up behind it
+            JournalUnavailableException refused = null;
+            while (refused == null) {
+                try {
+                    journal.append(Outcome.APPROVED, null, "50307172740", 4000 + accepted, 12, 100, 3600, 12);
+                    accepted++;
+                } catch (JournalUnavailableException e) {
+                    refused = e;
+                }
+            }
+            assertTrue(writerStalled.getCount() == 0 && accepted >= 64, "accepted " + accepted);
+            assertEquals(1, registry.get("decision.journal.rejected").counter().count());
+
+            // A decision waiting for room gets its slot once the writer moves on
+            Thread unstall = new Thread(() -> {
+                sleep(100);
+                clock.writerGate.countDown();
+            });
+            unstall.start();
+            journal.append(Outcome.APPROVED, null, "50307172740", 4000 + accepted, 12, 100, 3600, 12);
+            accepted++;
+            unstall.join();
+            assertEquals(2, registry.get("decision.journal.waits").counter().count());
+            assertEquals(1, registry.get("decision.journal.rejected").counter().count());
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(directory).scan(Long.MIN_VALUE, Long.MAX_VALUE / 2, records::add);
+        assertEquals(accepted, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, records.get(i).sequence());
+            assertEquals(4000 + i, records.get(i).loanAmount());
+        }
+    }
+
+    @Test
+    void givenWriterFails_whenAppend_thenRefusesDecisionsAndReportsNotReady() throws IOException {
+        Path journalDirectory = Files.createDirectory(directory.resolve("journal"));
+        try (DecisionJournal journal = journal(journalDirectory, Duration.ofSeconds(2))) {
+            journal.append(Outcome.APPROVED, null, "50307172740", 4000, 12, 100, 3600, 12);
+            awaitWritten(1);
+            // Without its directory the writer cannot open the second segment
+            for (Path segment : JournalSegmentWriter.segments(journalDirectory)) {
+                Files.delete(segment);
+            }
+            Files.delete(journalDirectory);
+            for (int i = 0; i < 10; i++) {
+                journal.append(Outcome.APPROVED, null, "50307172740", 4000, 12, 100, 3600, 12);
+            }
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (events.isEmpty() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(ReadinessState.REFUSING_TRAFFIC, ((AvailabilityChangeEvent<?>) events.get(0)).getState());
+            assertThrows(JournalUnavailableException.class,
+                    () -> journal.append(Outcome.APPROVED, null, "50307172740", 4000, 12, 100, 3600, 12));
+            assertEquals(1, registry.get("decision.journal.rejected").counter().count());
+        }
+    }
+
+    private DecisionJournal journal() throws IOException {
+        return journal(directory, Duration.ofSeconds(2));
+    }
+
+    private DecisionJournal journal(Path journalDirectory, Duration appendTimeout) throws IOException {
+        return new DecisionJournal(clock, events::add, registry, journalDirectory.toString(), SEGMENT_SIZE, 64, 4,
+                Duration.ofMillis(10), appendTimeout);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitWritten(long records) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (registry.get("decision.journal.records").counter().count() < records
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant = START;
+
+        // When set, the journal writer waits on the gate whenever it reads the clock to open a segment
+        private volatile CountDownLatch writerGate;
+        private volatile CountDownLatch writerStalled;
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            CountDownLatch gate = writerGate;
+            if (gate != null && Thread.currentThread().getName().equals("decision-journal")) {
+                writerStalled.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return instant;
+        }
+    }
+}
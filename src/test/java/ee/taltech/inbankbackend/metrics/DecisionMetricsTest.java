@@ -0,0 +1,172 @@
+package ee.taltech.inbankbackend.metrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import ee.taltech.inbankbackend.credit.CreditModifierProvider;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.exception.GlobalExceptionHandler;
+import ee.taltech.inbankbackend.exception.InvalidAgeException;
+import ee.taltech.inbankbackend.exception.InvalidLoanAmountException;
+import ee.taltech.inbankbackend.exception.NoValidLoanException;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+import ee.taltech.inbankbackend.service.CreditModifierService;
+import ee.taltech.inbankbackend.service.DecisionEngineService;
+import ee.taltech.inbankbackend.service.DecisionEngines;
+import ee.taltech.inbankbackend.service.DecisionResponseCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks what the decision meters hold after real engine calls and error responses.
+ */
+class DecisionMetricsTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private SimpleMeterRegistry registry;
+    private DecisionMetrics metrics;
+    private DecisionEngineService decisionEngine;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new DecisionMetrics(registry);
+        DecisionPolicyStore policyStore = new DecisionPolicyStore(DecisionPolicy.defaults());
+        decisionEngine = DecisionEngines.standalone(policyStore, CLOCK, new CreditModifierService(policyStore),
+                metrics, false);
+    }
+
+    @Test
+    void givenDecisions_whenEvaluate_thenCountsEachOutcome() {
+        decisionEngine.evaluate("50307172740", 4000L, 12); // segment 1, approved
+        decisionEngine.evaluate("38411266610", 4000L, 12); // segment 2, approved
+        decisionEngine.evaluate("37605030299", 4000L, 12); // debt
+        decisionEngine.evaluate("12345678901", 4000L, 12); // invalid, no outcome
+
+        assertEquals(2, outcome("approved"));
+        assertEquals(1, outcome("rejected_with_debt"));
+        assertEquals(0, outcome("no_valid_loan"));
+        assertEquals(4, registry.timer("decision.validation").count());
+        assertEquals(3, registry.timer("decision.computation").count());
+    }
+
+    @Test
+    void givenNoApprovableLoan_whenEvaluate_thenCountsNoValidLoan() {
+        DecisionPolicyStore policyStore = new DecisionPolicyStore(DecisionPolicy.fromProperties(
+                properties("segment.1.credit-modifier", "1")));
+        DecisionEngineService strictEngine = DecisionEngines.standalone(policyStore, CLOCK,
+                new CreditModifierService(policyStore), metrics, false);
+
+        strictEngine.evaluate("50307172740", 4000L, 12);
+
+        assertEquals(1, outcome("no_valid_loan"));
+        assertEquals(0, outcome("approved"));
+    }
+
+    @Test
+    void givenApprovals_whenEvaluate_thenRecordsPeriodExtensionBuckets() {
+        decisionEngine.evaluate("50307172740", 4000L, 12); // approved for 20 months, extended by 8
+        decisionEngine.evaluate("38411266610", 4000L, 12); // approved for the requested 12 months
+        decisionEngine.evaluate("35006069515", 4000L, 12); // approved for the requested 12 months
+
+        Map<Double, Double> buckets = Arrays.stream(registry.summary("decision.period.extension")
+                        .takeSnapshot().histogramCounts())
+                .collect(Collectors.toMap(CountAtBucket::bucket, CountAtBucket::count));
+        assertEquals(3, registry.summary("decision.period.extension").count());
+        assertEquals(8, registry.summary("decision.period.extension").totalAmount());
+        assertEquals(2, buckets.get(0.5));
+        assertEquals(2, buckets.get(6.0));
+        assertEquals(3, buckets.get(12.0));
+        assertEquals(3, buckets.get(48.0));
+    }
+
+    @Test
+    void givenCachedDecision_whenEvaluateAgain_thenCountsAndAuditsEveryRequest() {
+        DecisionPolicyStore policyStore = new DecisionPolicyStore(DecisionPolicy.defaults());
+        CreditModifierService segments = new CreditModifierService(policyStore);
+        AtomicInteger lookups = new AtomicInteger();
+        CreditModifierProvider countingProvider = personalCode -> {
+            lookups.incrementAndGet();
+            return segments.getCreditModifier(personalCode);
+        };
+        DecisionEngineService cachingEngine = DecisionEngines.standalone(policyStore, CLOCK, countingProvider,
+                metrics, false, new DecisionResponseCache(registry, true, 100, Duration.ofMinutes(1)));
+
+        Logger auditLog = (Logger) LoggerFactory.getLogger("decision.audit");
+        ListAppender<ILoggingEvent> audited = new ListAppender<>();
+        audited.start();
+        auditLog.addAppender(audited);
+        try {
+            for (int i = 0; i < 3; i++) {
+                cachingEngine.evaluate("38411266610", 4000L, 12);
+            }
+        } finally {
+            auditLog.detachAppender(audited);
+        }
+
+        assertEquals(1, lookups.get());
+        assertEquals(3, outcome("approved"));
+        assertEquals(3, registry.timer("decision.validation").count());
+        assertEquals(3, registry.timer("decision.computation").count());
+        assertEquals(3, audited.list.size());
+    }
+
+    @Test
+    void givenErrorResponses_whenHandled_thenCountsErrorsByException() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(metrics);
+
+        handler.handleInvalidAgeException(new InvalidAgeException("Applicant is underage."));
+        handler.handleInvalidLoanAmountException(new InvalidLoanAmountException("Invalid loan amount!"));
+        handler.handleNoValidLoanException(new NoValidLoanException("No valid loan found!"));
+        handler.handleGenericException(new IllegalStateException("boom"));
+        handler.handleGenericException(new IllegalStateException("boom"));
+
+        assertEquals(1, error("InvalidAgeException"));
+        assertEquals(1, error("InvalidLoanAmountException"));
+        assertEquals(1, error("NoValidLoanException"));
+        assertEquals(2, error("unexpected"));
+        assertEquals(0, error("InvalidPersonalCodeException"));
+    }
+
+    @Test
+    void givenRejectionResults_whenRejected_thenCountedUnderTheirFormerException() {
+        metrics.rejected(RejectionReason.DEBT);
+        metrics.rejected(RejectionReason.NO_VALID_LOAN);
+        metrics.rejected(RejectionReason.UNKNOWN_CENTURY);
+
+        assertEquals(2, error("NoValidLoanException"));
+        assertEquals(1, error("InvalidPersonalCodeException"));
+    }
+
+    private double outcome(String outcome) {
+        return registry.counter("decision.outcomes", "outcome", outcome).count();
+    }
+
+    private double error(String exception) {
+        return registry.counter("decision.errors", "exception", exception).count();
+    }
+
+    private static Properties properties(String key, String value) {
+        Properties properties = new Properties();
+        properties.setProperty(key, value);
+        return properties;
+    }
+}
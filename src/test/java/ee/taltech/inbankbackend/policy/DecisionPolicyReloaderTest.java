@@ -0,0 +1,87 @@
+package ee.taltech.inbankbackend.policy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import ee.taltech.inbankbackend.service.DecisionInputsChangedEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DecisionPolicyReloaderTest {
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private DecisionPolicyStore store;
+    private final List<Object> events = new ArrayList<>();
+    private DecisionPolicyReloader reloader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("decision-policy.properties");
+        write("segment.1.credit-modifier=100", 1);
+        FileSystemResource resource = new FileSystemResource(file);
+        store = new DecisionPolicyStore(DecisionPolicyStore.load(resource));
+        reloader = new DecisionPolicyReloader(resource, store, events::add);
+    }
+
+    @Test
+    void givenUnchangedFile_whenReloadIfModified_thenKeepsPolicy() {
+        DecisionPolicy before = store.current();
+
+        reloader.reloadIfModified();
+
+        assertSame(before, store.current());
+        assertEquals(0, events.size());
+    }
+
+    @Test
+    void givenChangedFile_whenReloadIfModified_thenSwapsPolicyAndPublishesEvent() throws IOException {
+        write("segment.1.credit-modifier=150", 2);
+
+        reloader.reloadIfModified();
+
+        assertEquals(150, store.current().getSegment1CreditModifier());
+        assertEquals(1, events.size());
+        assertInstanceOf(DecisionInputsChangedEvent.class, events.get(0));
+    }
+
+    @Test
+    void givenInvalidFile_whenReloadIfModified_thenKeepsCurrentPolicy() throws IOException {
+        DecisionPolicy before = store.current();
+        write("loan.amount.minimum=-5", 2);
+
+        reloader.reloadIfModified();
+
+        assertSame(before, store.current());
+        assertEquals(0, events.size());
+    }
+
+    @Test
+    void givenFileCompletedWithoutNewModificationTime_whenReloadIfModified_thenLoadsIt() throws IOException {
+        write("segment.1.credit-modifier=", 2);
+        reloader.reloadIfModified();
+        write("segment.1.credit-modifier=150", 2);
+
+        reloader.reloadIfModified();
+
+        assertEquals(150, store.current().getSegment1CreditModifier());
+        assertEquals(1, events.size());
+    }
+
+    private void write(String contents, long minutes) throws IOException {
+        Files.writeString(file, contents);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(minutes * 60_000));
+    }
+}
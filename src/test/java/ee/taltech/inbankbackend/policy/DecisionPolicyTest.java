@@ -0,0 +1,62 @@
+package ee.taltech.inbankbackend.policy;
+
+import java.util.Properties;
+
+import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.exception.InvalidPolicyException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecisionPolicyTest {
+
+    @Test
+    void givenNoProperties_whenFromProperties_thenUsesDefaults() {
+        DecisionPolicy policy = DecisionPolicy.fromProperties(new Properties());
+
+        assertEquals(DecisionEngineConstants.MINIMUM_LOAN_AMOUNT, policy.getMinimumLoanAmount());
+        assertEquals(DecisionEngineConstants.MAXIMUM_LOAN_PERIOD, policy.getMaximumLoanPeriod());
+        assertEquals(DecisionEngineConstants.SEGMENT_3_CREDIT_MODIFIER, policy.getSegment3CreditModifier());
+        assertEquals(75, policy.maximumAge());
+    }
+
+    @Test
+    void givenOverrides_whenFromProperties_thenOverridesOnlyThoseKeys() {
+        Properties properties = new Properties();
+        properties.setProperty("loan.period.maximum", " 48 ");
+        properties.setProperty("segment.2.credit-modifier", "400");
+        properties.setProperty("score.minimum", "0.15");
+
+        DecisionPolicy policy = DecisionPolicy.fromProperties(properties);
+
+        assertEquals(48, policy.getMaximumLoanPeriod());
+        assertEquals(400, policy.getSegment2CreditModifier());
+        assertEquals(0.15, policy.getMinimumCreditScore());
+        assertEquals(DecisionEngineConstants.SEGMENT_1_CREDIT_MODIFIER, policy.getSegment1CreditModifier());
+    }
+
+    @Test
+    void givenContradictoryRules_whenFromProperties_thenReportsEveryProblem() {
+        Properties properties = new Properties();
+        properties.setProperty("loan.amount.maximum", "1000");
+        properties.setProperty("segment.1.limit", "9000");
+        properties.setProperty("score.minimum", "0");
+
+        InvalidPolicyException exception = assertThrows(InvalidPolicyException.class,
+                () -> DecisionPolicy.fromProperties(properties));
+
+        assertTrue(exception.getMessage().contains("loan.amount.maximum"));
+        assertTrue(exception.getMessage().contains("segment limits"));
+        assertTrue(exception.getMessage().contains("score.minimum"));
+    }
+
+    @Test
+    void givenNonNumericValue_whenFromProperties_thenThrows() {
+        Properties properties = new Properties();
+        properties.setProperty("loan.amount.step", "a hundred");
+
+        assertThrows(InvalidPolicyException.class, () -> DecisionPolicy.fromProperties(properties));
+    }
+}
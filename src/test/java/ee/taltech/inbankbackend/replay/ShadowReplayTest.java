@@ -0,0 +1,95 @@
+package ee.taltech.inbankbackend.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Properties;
+
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShadowReplayTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2024, 1, 1);
+    private static final String[] LINES = {
+        "{\"personalCode\":\"50307172740\",\"loanAmount\":4000,\"loanPeriod\":12}",
+        "{\"personalCode\":\"38411266610\",\"loanAmount\":4000,\"loanPeriod\":12}",
+        "{\"personalCode\":\"37605030299\",\"loanAmount\":4000,\"loanPeriod\":12}",
+        "{\"personalCode\":\"12345678901\",\"loanAmount\":4000,\"loanPeriod\":12}",
+        "not json"
+    };
+
+    @Test
+    void givenHigherSegment1Modifier_whenReplay_thenReportsOnlySegment1DecisionsAsChanged() throws IOException {
+        ByteArrayOutputStream changes = new ByteArrayOutputStream();
+        ReplayReport report = replay(2, String.join("\n", LINES), changes);
+
+        assertEquals(4, report.requests());
+        assertEquals(1, report.unreadableLines());
+        assertEquals(2, report.approvedCurrent());
+        assertEquals(2, report.approvedCandidate());
+        assertEquals(1, report.changedDecisions());
+        // 2000 over 20 months becomes 2400 over the requested 12
+        assertEquals(400, report.amountDelta(1));
+        assertEquals(0, report.amountDelta(2));
+        assertEquals("{\"line\":1,\"personalCode\":\"50307172740\",\"loanAmount\":4000,\"loanPeriod\":12,"
+                + "\"current\":{\"loanAmount\":2000,\"loanPeriod\":20},"
+                + "\"candidate\":{\"loanAmount\":2400,\"loanPeriod\":12}}\n",
+                changes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenHigherMinimumScore_whenReplay_thenReportsLongerOrSmallerLoans() throws IOException {
+        Properties candidate = new Properties();
+        candidate.setProperty("score.minimum", "0.2");
+        ByteArrayOutputStream changes = new ByteArrayOutputStream();
+        ReplayReport report = replay(candidate, 1, String.join("\n", LINES), changes);
+
+        assertEquals(2, report.approvedCurrent());
+        assertEquals(2, report.approvedCandidate());
+        assertEquals(2, report.changedDecisions());
+        assertEquals("{\"line\":1,\"personalCode\":\"50307172740\",\"loanAmount\":4000,\"loanPeriod\":12,"
+                + "\"current\":{\"loanAmount\":2000,\"loanPeriod\":20},"
+                + "\"candidate\":{\"loanAmount\":2000,\"loanPeriod\":40}}\n"
+                + "{\"line\":2,\"personalCode\":\"38411266610\",\"loanAmount\":4000,\"loanPeriod\":12,"
+                + "\"current\":{\"loanAmount\":3600,\"loanPeriod\":12},"
+                + "\"candidate\":{\"loanAmount\":2100,\"loanPeriod\":14}}\n",
+                changes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenManyBatches_whenReplayOnOneOrManyThreads_thenResultsAreIdentical() throws IOException {
+        StringBuilder requests = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            requests.append(LINES[i % LINES.length]).append('\n');
+        }
+
+        ByteArrayOutputStream singleThreadChanges = new ByteArrayOutputStream();
+        ReplayReport singleThread = replay(1, requests.toString(), singleThreadChanges);
+        ByteArrayOutputStream multiThreadChanges = new ByteArrayOutputStream();
+        ReplayReport multiThread = replay(4, requests.toString(), multiThreadChanges);
+
+        assertEquals(1000, singleThread.changedDecisions());
+        assertEquals(singleThread.format(), multiThread.format());
+        assertEquals(singleThreadChanges.toString(StandardCharsets.UTF_8),
+                multiThreadChanges.toString(StandardCharsets.UTF_8));
+    }
+
+    private static ReplayReport replay(int threads, String requests, ByteArrayOutputStream changes)
+            throws IOException {
+        Properties candidate = new Properties();
+        candidate.setProperty("segment.1.credit-modifier", "200");
+        return replay(candidate, threads, requests, changes);
+    }
+
+    private static ReplayReport replay(Properties candidate, int threads, String requests,
+            ByteArrayOutputStream changes) throws IOException {
+        ShadowReplay replay = new ShadowReplay(DecisionPolicy.defaults(), DecisionPolicy.fromProperties(candidate),
+                AS_OF, threads);
+        return replay.run(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)), changes);
+    }
+}
@@ -0,0 +1,157 @@
+package ee.taltech.inbankbackend.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import ee.taltech.inbankbackend.credit.CreditModifierProvider;
+import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs mixed-segment decisions on many threads at once and checks every result against the result of the
+ * same request evaluated on a single thread, and checks that identical concurrent requests share one
+ * decision when coalescing is on.
+ */
+class DecisionEngineConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ITERATIONS_PER_THREAD = 5000;
+
+    private static final String[] PERSONAL_CODES = {
+        "37605030299", // debt
+        "50307172740", // segment 1
+        "38512124568", // segment 1
+        "38411266610", // segment 2
+        "47206157128", // segment 2
+        "49001019127", // segment 3
+        "12345678901"  // invalid
+    };
+    private static final long[] LOAN_AMOUNTS = {1999L, 2000L, 4000L, 7300L, 10000L};
+    private static final int[] LOAN_PERIODS = {11, 12, 17, 24, 36, 48, 49, 60};
+
+    private final DecisionEngineService decisionEngine = DecisionEngines.standalone(DecisionPolicy.defaults(),
+            Clock.systemDefaultZone());
+
+    @Test
+    void givenManyThreadsWithMixedSegments_whenCalculateApprovedLoan_thenMatchesSingleThreadedResults()
+            throws Exception {
+        List<String[]> requests = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (String personalCode : PERSONAL_CODES) {
+            for (long loanAmount : LOAN_AMOUNTS) {
+                for (int loanPeriod : LOAN_PERIODS) {
+                    requests.add(new String[] {personalCode, Long.toString(loanAmount), Integer.toString(loanPeriod)});
+                    expected.add(evaluate(personalCode, loanAmount, loanPeriod));
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                int checked = 0;
+                for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+                    int index = ThreadLocalRandom.current().nextInt(requests.size());
+                    String[] request = requests.get(index);
+                    String actual = evaluate(request[0], Long.parseLong(request[1]), Integer.parseInt(request[2]));
+                    assertEquals(expected.get(index), actual, String.join(", ", request));
+                    checked++;
+                }
+                return checked;
+            }));
+        }
+
+        start.countDown();
+        int checked = 0;
+        for (Future<Integer> worker : workers) {
+            checked += worker.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * ITERATIONS_PER_THREAD, checked);
+    }
+
+    @Test
+    void givenCoalescingAndIdenticalConcurrentRequests_whenEvaluate_thenSharesOneDecisionAndRecordsEach()
+            throws Exception {
+        int callers = 8;
+        DecisionPolicyStore policyStore = new DecisionPolicyStore(DecisionPolicy.defaults());
+        CreditModifierService segments = new CreditModifierService(policyStore);
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CreditModifierProvider slowRegistry = personalCode -> {
+            lookups.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return segments.getCreditModifier(personalCode);
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DecisionEngineService coalescingEngine = DecisionEngines.standalone(policyStore, Clock.systemDefaultZone(),
+                slowRegistry, new DecisionMetrics(registry), true);
+
+        Logger auditLog = (Logger) LoggerFactory.getLogger("decision.audit");
+        ListAppender<ILoggingEvent> audited = new ListAppender<>();
+        audited.start();
+        auditLog.addAppender(audited);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<DecisionResult>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> coalescingEngine.evaluate("38411266610", 4000L, 12)));
+            }
+            while (registry.counter("decision.coalesced", "stage", "decision").count() < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<DecisionResult> result : results) {
+                assertEquals(3600, result.get(5, TimeUnit.SECONDS).getLoanAmount());
+            }
+        } finally {
+            executor.shutdownNow();
+            auditLog.detachAppender(audited);
+        }
+
+        assertEquals(1, lookups.get());
+        assertEquals(callers, registry.counter("decision.outcomes", "outcome", "approved").count());
+        assertEquals(callers, registry.timer("decision.validation").count());
+        assertEquals(callers, registry.timer("decision.computation").count());
+        assertEquals(callers, registry.summary("decision.period.extension").count());
+        assertEquals(callers, audited.list.size());
+    }
+
+    private String evaluate(String personalCode, long loanAmount, int loanPeriod) {
+        try {
+            DecisionDTO decision = decisionEngine.calculateApprovedLoan(personalCode, loanAmount, loanPeriod);
+            return decision.getLoanAmount() + "/" + decision.getLoanPeriod();
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+}
@@ -1,29 +1,41 @@
 package ee.taltech.inbankbackend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Properties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.credit.FileCreditModifierProvider;
 import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.dto.DecisionExplanation;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
 import ee.taltech.inbankbackend.exception.InvalidAgeException;
 import ee.taltech.inbankbackend.exception.InvalidLoanAmountException;
 import ee.taltech.inbankbackend.exception.InvalidLoanPeriodException;
 import ee.taltech.inbankbackend.exception.InvalidPersonalCodeException;
 import ee.taltech.inbankbackend.exception.NoValidLoanException;
-import ee.taltech.inbankbackend.validator.LoanInputValidator;
+import ee.taltech.inbankbackend.metrics.DecisionMetrics;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-@ExtendWith(MockitoExtension.class)
 class DecisionEngineTest {
 
-    private LoanInputValidator validator;
-    private CreditModifierService creditModifierService;
+    // The applicants' ages are fixed so the segment 3 applicant, born in 1950, stays within the age limits
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
 
-    @InjectMocks
     private DecisionEngineService decisionEngine;
 
     private String debtorPersonalCode;
@@ -33,9 +45,7 @@ class DecisionEngineTest {
 
     @BeforeEach
     void setUp() {
-        validator = new LoanInputValidator();
-        creditModifierService = new CreditModifierService();
-        decisionEngine = new DecisionEngineService(validator, creditModifierService);
+        decisionEngine = DecisionEngines.standalone(DecisionPolicy.defaults(), CLOCK);
 
         debtorPersonalCode = "37605030299";
         segment1PersonalCode = "50307172740";
@@ -118,4 +128,78 @@ class DecisionEngineTest {
                 () -> decisionEngine.calculateApprovedLoan(debtorPersonalCode, 10000L, 60));
     }
 
+    @Test
+    void testExplainExtendedPeriod() {
+        DecisionExplanation explanation = new DecisionExplanation();
+        DecisionResult decision = decisionEngine.explain(segment1PersonalCode, 4000L, 12, explanation);
+
+        assertEquals(2000, decision.getLoanAmount());
+        assertEquals(20, decision.getLoanPeriod());
+        assertEquals(100, explanation.getCreditModifier());
+        assertEquals(1, explanation.getCreditSegment());
+        assertEquals(0.03, explanation.getRequestedScore(), 1e-9);
+        assertEquals(0.1, explanation.getGrantedScore(), 1e-9);
+        assertEquals(8, explanation.getPeriodsExtended());
+    }
+
+    @Test
+    void testExplainDebtor() {
+        DecisionExplanation explanation = new DecisionExplanation();
+        DecisionResult decision = decisionEngine.explain(debtorPersonalCode, 4000L, 12, explanation);
+
+        assertEquals(RejectionReason.DEBT, decision.getRejectionReason());
+        assertEquals(0, explanation.getCreditModifier());
+        assertEquals(0, explanation.getCreditSegment());
+        assertEquals(0.0, explanation.getRequestedScore());
+        assertNull(explanation.getGrantedScore());
+        assertNull(explanation.getPeriodsExtended());
+    }
+
+    @Test
+    void testExplainSegmentSharingItsModifier() {
+        Properties properties = new Properties();
+        properties.setProperty("segment.2.credit-modifier", "100");
+        DecisionEngineService sharedModifierEngine = DecisionEngines.standalone(
+                DecisionPolicy.fromProperties(properties), CLOCK);
+
+        DecisionExplanation segment1 = new DecisionExplanation();
+        sharedModifierEngine.explain(segment1PersonalCode, 4000L, 12, segment1);
+        DecisionExplanation segment2 = new DecisionExplanation();
+        sharedModifierEngine.explain(segment2PersonalCode, 4000L, 12, segment2);
+
+        assertEquals(100, segment1.getCreditModifier());
+        assertEquals(1, segment1.getCreditSegment());
+        assertEquals(100, segment2.getCreditModifier());
+        assertEquals(2, segment2.getCreditSegment());
+    }
+
+    @Test
+    void testExplainRegistryModifier() {
+        ByteArrayResource registry = new ByteArrayResource(
+                (segment1PersonalCode + ",1000\n" + segment2PersonalCode + ",250\n").getBytes(StandardCharsets.UTF_8));
+        DecisionPolicyStore policyStore = new DecisionPolicyStore(DecisionPolicy.defaults());
+        DecisionEngineService registryEngine = DecisionEngines.standalone(policyStore, CLOCK,
+                new FileCreditModifierProvider(registry, Duration.ZERO),
+                new DecisionMetrics(new SimpleMeterRegistry()), false);
+
+        DecisionExplanation segmentModifier = new DecisionExplanation();
+        registryEngine.explain(segment1PersonalCode, 4000L, 12, segmentModifier);
+        DecisionExplanation otherModifier = new DecisionExplanation();
+        registryEngine.explain(segment2PersonalCode, 4000L, 12, otherModifier);
+
+        assertEquals(1000, segmentModifier.getCreditModifier());
+        assertEquals(3, segmentModifier.getCreditSegment());
+        assertEquals(250, otherModifier.getCreditModifier());
+        assertNull(otherModifier.getCreditSegment());
+    }
+
+    @Test
+    void testExplainInvalidPersonalCode() {
+        DecisionExplanation explanation = new DecisionExplanation();
+        DecisionResult decision = decisionEngine.explain("12345678901", 4000L, 12, explanation);
+
+        assertEquals(RejectionReason.INVALID_PERSONAL_CODE, decision.getRejectionReason());
+        assertNull(explanation.getCreditModifier());
+    }
+
 }
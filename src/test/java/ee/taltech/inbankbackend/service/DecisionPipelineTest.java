@@ -0,0 +1,61 @@
+package ee.taltech.inbankbackend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DecisionPipelineTest {
+
+    private BatchDecisionService batchDecisionService;
+    private DecisionPipeline decisionPipeline;
+
+    @BeforeEach
+    void setUp() {
+        DecisionEngineService decisionEngine = DecisionEngines.standalone(DecisionPolicy.defaults(),
+                Clock.systemDefaultZone());
+        batchDecisionService = new BatchDecisionService(decisionEngine);
+        decisionPipeline = new DecisionPipeline(batchDecisionService, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        decisionPipeline.shutdown();
+        batchDecisionService.shutdown();
+    }
+
+    @Test
+    void givenNdjsonRequests_whenRun_thenWritesOneResultPerLineInOrder() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            input.append(i % 2 == 0
+                    ? "{\"personalCode\":\"38411266610\",\"loanAmount\":4000,\"loanPeriod\":12}\n"
+                    : "{\"personalCode\":\"37605030299\",\"loanAmount\":4000,\"loanPeriod\":12}\n");
+        }
+        input.append("\nnot json\n");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PipelineStats stats = decisionPipeline.run(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2001, stats.getRecords());
+        assertEquals(2001, lines.length);
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i % 2 == 0
+                    ? "{\"loanAmount\":3600,\"loanPeriod\":12,\"errorMessage\":null}"
+                    : "{\"loanAmount\":null,\"loanPeriod\":null,\"errorMessage\":\"No valid loan found!\"}",
+                    lines[i]);
+        }
+        assertEquals("{\"loanAmount\":null,\"loanPeriod\":null,\"errorMessage\":\"Invalid request\"}", lines[2000]);
+    }
+}
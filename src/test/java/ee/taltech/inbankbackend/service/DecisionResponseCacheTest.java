@@ -0,0 +1,61 @@
+package ee.taltech.inbankbackend.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.service.DecisionResponseCache.ComputedDecision;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DecisionResponseCacheTest {
+
+    private final AtomicInteger decisions = new AtomicInteger();
+    private final DecisionResponseCache cache =
+            new DecisionResponseCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+
+    @Test
+    void givenIdenticalRequests_whenGet_thenDecidesOnce() {
+        ComputedDecision first = cache.get("50307172740", 4000L, 12, this::decide);
+        ComputedDecision second = cache.get("50307172740", 4000L, 12, this::decide);
+
+        assertSame(first, second);
+        assertEquals(1, decisions.get());
+        cache.get("50307172740", 4000L, 13, this::decide);
+        assertEquals(2, decisions.get());
+    }
+
+    @Test
+    void givenInputsChanged_whenGet_thenDecidesAgain() {
+        cache.get("50307172740", 4000L, 12, this::decide);
+        cache.onDecisionInputsChanged(new DecisionInputsChangedEvent(this));
+        cache.get("50307172740", 4000L, 12, this::decide);
+
+        assertEquals(2, decisions.get());
+    }
+
+    @Test
+    void givenInputsChangedWhileDeciding_whenGet_thenResultIsNotCached() {
+        cache.get("50307172740", 4000L, 12, () -> {
+            cache.onDecisionInputsChanged(new DecisionInputsChangedEvent(this));
+            return decide();
+        });
+        cache.get("50307172740", 4000L, 12, this::decide);
+
+        assertEquals(2, decisions.get());
+    }
+
+    @Test
+    void givenApprovals_whenEntityTag_thenNamesAmountAndPeriod() {
+        assertEquals("\"3600-12\"", DecisionResponseCache.entityTag(DecisionResult.approved(3600, 12)));
+    }
+
+    private ComputedDecision decide() {
+        decisions.incrementAndGet();
+        return new ComputedDecision(DecisionResult.approved(3600, 12), 300);
+    }
+}
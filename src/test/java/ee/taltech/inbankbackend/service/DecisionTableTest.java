@@ -0,0 +1,88 @@
+package ee.taltech.inbankbackend.service;
+
+import ee.taltech.inbankbackend.config.DecisionEngineConstants;
+import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.dto.DecisionResult;
+import ee.taltech.inbankbackend.dto.LoanOffersResult;
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecisionTableTest {
+
+    private final LoanSolver loanSolver = new LoanSolver();
+    private final DecisionPolicy policy = DecisionPolicy.defaults();
+    private final DecisionTable decisionTable = new DecisionTable(loanSolver, new DecisionPolicyStore(policy));
+
+    @Test
+    void givenKnownModifier_whenLookup_thenMatchesSolver() {
+        int[] creditModifiers = {
+            0,
+            DecisionEngineConstants.SEGMENT_1_CREDIT_MODIFIER,
+            DecisionEngineConstants.SEGMENT_2_CREDIT_MODIFIER,
+            DecisionEngineConstants.SEGMENT_3_CREDIT_MODIFIER
+        };
+
+        for (int creditModifier : creditModifiers) {
+            for (int period = DecisionEngineConstants.MINIMUM_LOAN_PERIOD - 1;
+                    period <= DecisionEngineConstants.MAXIMUM_LOAN_PERIOD + 1; period++) {
+                assertSameDecision(loanSolver.solve(policy, creditModifier, period),
+                        decisionTable.lookup(creditModifier, period));
+            }
+        }
+    }
+
+    @Test
+    void givenUnknownModifier_whenLookup_thenFallsBackToSolver() {
+        assertSameDecision(loanSolver.solve(policy, 250, 12), decisionTable.lookup(250, 12));
+    }
+
+    @Test
+    void givenRebuild_whenLookup_thenReturnsSameDecisions() {
+        DecisionResult before = decisionTable.lookup(DecisionEngineConstants.SEGMENT_2_CREDIT_MODIFIER, 12);
+        decisionTable.rebuild();
+        DecisionResult after = decisionTable.lookup(DecisionEngineConstants.SEGMENT_2_CREDIT_MODIFIER, 12);
+        assertEquals(before.getLoanAmount(), after.getLoanAmount());
+        assertEquals(before.getLoanPeriod(), after.getLoanPeriod());
+    }
+
+    @Test
+    void givenModifier_whenOffers_thenHighestAmountForEveryPeriod() {
+        for (int creditModifier : new int[] {DecisionEngineConstants.SEGMENT_1_CREDIT_MODIFIER, 250}) {
+            LoanOffersResult offers = decisionTable.offers(creditModifier);
+
+            int periodCount = DecisionEngineConstants.MAXIMUM_LOAN_PERIOD
+                    - DecisionEngineConstants.MINIMUM_LOAN_PERIOD + 1;
+            assertEquals(periodCount, offers.getLoanPeriods().length);
+            assertEquals(periodCount, offers.getLoanAmounts().length);
+            for (int i = 0; i < periodCount; i++) {
+                int period = DecisionEngineConstants.MINIMUM_LOAN_PERIOD + i;
+                assertEquals(period, offers.getLoanPeriods()[i]);
+                assertEquals(loanSolver.highestApprovedAmount(policy, creditModifier, period),
+                        offers.getLoanAmounts()[i]);
+            }
+        }
+    }
+
+    @Test
+    void givenDifferentModifiers_whenOffers_thenEntityTagsDiffer() {
+        assertNotEquals(decisionTable.offers(DecisionEngineConstants.SEGMENT_1_CREDIT_MODIFIER).getEntityTag(),
+                decisionTable.offers(DecisionEngineConstants.SEGMENT_2_CREDIT_MODIFIER).getEntityTag());
+        assertEquals(RejectionReason.NO_VALID_LOAN, decisionTable.offers(0).getRejectionReason());
+    }
+
+    private void assertSameDecision(DecisionDTO expected, DecisionResult actual) {
+        if (expected == null) {
+            assertEquals(RejectionReason.NO_VALID_LOAN, actual.getRejectionReason());
+            return;
+        }
+        assertTrue(actual.isApproved());
+        assertEquals(expected.getLoanAmount(), actual.getLoanAmount());
+        assertEquals(expected.getLoanPeriod(), actual.getLoanPeriod());
+    }
+}
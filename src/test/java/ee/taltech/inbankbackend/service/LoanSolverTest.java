@@ -0,0 +1,95 @@
+package ee.taltech.inbankbackend.service;
+
+import java.util.Properties;
+
+import ee.taltech.inbankbackend.dto.DecisionDTO;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LoanSolverTest {
+
+    private final LoanSolver loanSolver = new LoanSolver();
+    private final DecisionPolicy policy = DecisionPolicy.defaults();
+
+    /**
+     * Compares the solver with the period/amount search it replaced, bounded by the policy, for every
+     * credit modifier up to well past the highest segment and every period on both sides of the allowed
+     * range.
+     */
+    @Test
+    void givenAnyModifierAndPeriod_whenSolve_thenMatchesSearchLoop() {
+        for (int creditModifier = -1; creditModifier <= 1100; creditModifier++) {
+            for (int period = 0; period <= 62; period++) {
+                DecisionDTO expected = searchLoop(policy, creditModifier, period);
+                DecisionDTO actual = loanSolver.solve(policy, creditModifier, period);
+
+                String context = "creditModifier=" + creditModifier + ", period=" + period;
+                if (expected == null) {
+                    assertNull(actual, context);
+                } else {
+                    assertEquals(expected.getLoanAmount(), actual.getLoanAmount(), context);
+                    assertEquals(expected.getLoanPeriod(), actual.getLoanPeriod(), context);
+                }
+            }
+        }
+    }
+
+    /**
+     * Thresholds that are not a power of ten move the exact boundaries off whole amounts and periods.
+     */
+    @Test
+    void givenOtherMinimumScores_whenSolve_thenMatchesSearchLoop() {
+        for (String minimumScore : new String[] {"0.2", "0.15", "0.3", "0.07"}) {
+            Properties properties = new Properties();
+            properties.setProperty("score.minimum", minimumScore);
+            DecisionPolicy scored = DecisionPolicy.fromProperties(properties);
+            for (int creditModifier = 1; creditModifier <= 1100; creditModifier++) {
+                for (int period = 0; period <= 62; period++) {
+                    DecisionDTO expected = searchLoop(scored, creditModifier, period);
+                    DecisionDTO actual = loanSolver.solve(scored, creditModifier, period);
+
+                    String context = "score.minimum=" + minimumScore + ", creditModifier=" + creditModifier
+                            + ", period=" + period;
+                    if (expected == null) {
+                        assertNull(actual, context);
+                    } else {
+                        assertEquals(expected.getLoanAmount(), actual.getLoanAmount(), context);
+                        assertEquals(expected.getLoanPeriod(), actual.getLoanPeriod(), context);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The floating point score rounds below 0.1 when creditModifier * period equals the amount exactly.
+     */
+    @Test
+    void givenExactBoundaryThatRoundsDown_whenSolve_thenStepsLikeSearchLoop() {
+        assertEquals(4800, loanSolver.highestApprovedAmount(policy, 100, 49));
+        assertEquals(9700, loanSolver.highestApprovedAmount(policy, 200, 49));
+        assertEquals(4800, loanSolver.highestApprovedAmount(policy, 50, 98));
+    }
+
+    @Test
+    void givenNoApprovableAmount_whenHighestApprovedAmount_thenReturnsZero() {
+        assertEquals(0, loanSolver.highestApprovedAmount(policy, 0, 48));
+        assertEquals(0, loanSolver.highestApprovedAmount(policy, 100, 19));
+    }
+
+    private static DecisionDTO searchLoop(DecisionPolicy policy, int creditModifier, int loanPeriod) {
+        for (int period = loanPeriod; period <= policy.getMaximumLoanPeriod(); period++) {
+            for (int amount = policy.getMaximumLoanAmount(); amount >= policy.getMinimumLoanAmount();
+                    amount -= policy.getLoanAmountStep()) {
+                double creditScore = (((double) creditModifier / amount) * period) / 10;
+                if (creditScore >= policy.getMinimumCreditScore()) {
+                    return new DecisionDTO(amount, period, null);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,99 @@
+package ee.taltech.inbankbackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final AtomicInteger coalesced = new AtomicInteger();
+    private final AtomicInteger computations = new AtomicInteger();
+    private final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(coalesced::incrementAndGet);
+    private final ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentCallsWithSameKey_whenExecute_thenComputesOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute("key", () -> blockingComputation(release))));
+        awaitComputations(1);
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute("key", () -> blockingComputation(release))));
+        }
+        awaitCoalesced(FOLLOWERS);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(FOLLOWERS, coalesced.get());
+    }
+
+    @Test
+    void givenSequentialCalls_whenExecute_thenComputesEachTime() {
+        coalescer.execute("key", () -> "value" + computations.incrementAndGet());
+
+        assertEquals("value2", coalescer.execute("key", () -> "value" + computations.incrementAndGet()));
+        assertEquals(0, coalesced.get());
+    }
+
+    @Test
+    void givenFailingComputation_whenExecute_thenEveryWaitingCallerGetsTheException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("registry down");
+        Future<String> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            blockingComputation(release);
+            throw failure;
+        }));
+        awaitComputations(1);
+        Future<Throwable> follower = executor.submit(() -> assertThrows(IllegalStateException.class,
+                () -> coalescer.execute("key", () -> "other")));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertSame(failure, follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals("next", coalescer.execute("key", () -> "next"));
+    }
+
+    private String blockingComputation(CountDownLatch release) {
+        computations.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "value";
+    }
+
+    private void awaitComputations(int expected) throws InterruptedException {
+        while (computations.get() < expected) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        while (coalesced.get() < expected) {
+            Thread.sleep(1);
+        }
+    }
+}
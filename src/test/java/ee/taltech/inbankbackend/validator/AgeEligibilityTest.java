@@ -0,0 +1,136 @@
+package ee.taltech.inbankbackend.validator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.Properties;
+import java.util.Random;
+
+import ee.taltech.inbankbackend.dto.RejectionReason;
+import ee.taltech.inbankbackend.policy.DecisionPolicy;
+import ee.taltech.inbankbackend.policy.DecisionPolicyStore;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AgeEligibilityTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Tallinn");
+
+    private final DecisionPolicyStore policyStore = new DecisionPolicyStore(DecisionPolicy.defaults());
+
+    @Test
+    void givenEighteenthBirthday_whenMidnightPasses_thenApplicantComesOfAge() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2024, 5, 9, 23, 59, 59, 999_000_000));
+        AgeEligibility eligibility = new AgeEligibility(clock, policyStore);
+        long birthDay = LocalDate.of(2006, 5, 10).toEpochDay();
+
+        assertEquals(RejectionReason.UNDERAGE, eligibility.check(birthDay));
+        clock.set(LocalDateTime.of(2024, 5, 10, 0, 0));
+        assertNull(eligibility.check(birthDay));
+    }
+
+    @Test
+    void givenBirthdayPastMaximumAge_whenMidnightPasses_thenApplicantIsOverage() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2024, 5, 9, 23, 59, 59, 999_000_000));
+        AgeEligibility eligibility = new AgeEligibility(clock, policyStore);
+        // The default policy allows applicants up to 75
+        long birthDay = LocalDate.of(1948, 5, 10).toEpochDay();
+
+        assertNull(eligibility.check(birthDay));
+        clock.set(LocalDateTime.of(2024, 5, 10, 0, 0));
+        assertEquals(RejectionReason.OVERAGE, eligibility.check(birthDay));
+    }
+
+    @Test
+    void givenLeapDayBirth_whenNoLeapDayThisYear_thenComesOfAgeOnFirstOfMarch() {
+        long birthDay = LocalDate.of(2008, 2, 29).toEpochDay();
+
+        assertEquals(RejectionReason.UNDERAGE, checkOn(LocalDate.of(2026, 2, 28), birthDay));
+        assertNull(checkOn(LocalDate.of(2026, 3, 1), birthDay));
+    }
+
+    @Test
+    void givenLeapDayToday_whenCheck_thenOnlyBirthsUpToTheTwentyEighthAreOfAge() {
+        LocalDate leapDay = LocalDate.of(2024, 2, 29);
+
+        assertNull(checkOn(leapDay, LocalDate.of(2006, 2, 28).toEpochDay()));
+        assertEquals(RejectionReason.UNDERAGE, checkOn(leapDay, LocalDate.of(2006, 3, 1).toEpochDay()));
+    }
+
+    @Test
+    void givenPolicyReplaced_whenCheck_thenUsesNewAgeLimits() {
+        AgeEligibility eligibility = new AgeEligibility(fixedClock(LocalDate.of(2024, 5, 10)), policyStore);
+        long birthDay = LocalDate.of(2004, 5, 10).toEpochDay();
+        assertNull(eligibility.check(birthDay));
+
+        Properties properties = new Properties();
+        properties.setProperty("applicant.age.minimum", "21");
+        policyStore.update(DecisionPolicy.fromProperties(properties));
+
+        assertEquals(RejectionReason.UNDERAGE, eligibility.check(birthDay));
+    }
+
+    /**
+     * Random birth days and dates, leap days included, checked against the age in years
+     * {@link Period#between} gives.
+     */
+    @Test
+    void givenRandomDates_whenCheck_thenAgreesWithPeriodBetween() {
+        DecisionPolicy policy = policyStore.current();
+        Random random = new Random(21);
+        long first = LocalDate.of(2020, 1, 1).toEpochDay();
+        for (int day = 0; day < 366 * 5; day += 1 + random.nextInt(3)) {
+            LocalDate today = LocalDate.ofEpochDay(first + day);
+            AgeEligibility eligibility = new AgeEligibility(fixedClock(today), policyStore);
+            for (int i = 0; i < 200; i++) {
+                LocalDate birthDate = today.minusDays(random.nextInt(366 * 100));
+                int age = Period.between(birthDate, today).getYears();
+                RejectionReason expected = age < policy.getMinimumAge() ? RejectionReason.UNDERAGE
+                        : age > policy.maximumAge() ? RejectionReason.OVERAGE : null;
+                assertEquals(expected, eligibility.check(birthDate.toEpochDay()),
+                        () -> "born " + birthDate + " on " + today);
+            }
+        }
+    }
+
+    private RejectionReason checkOn(LocalDate today, long birthDay) {
+        return new AgeEligibility(fixedClock(today), policyStore).check(birthDay);
+    }
+
+    private static Clock fixedClock(LocalDate today) {
+        return Clock.fixed(today.atStartOfDay(ZONE).toInstant(), ZONE);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDateTime dateTime) {
+            set(dateTime);
+        }
+
+        void set(LocalDateTime dateTime) {
+            instant = dateTime.atZone(ZONE).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ee.taltech.inbankbackend.validator;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import com.github.vladislavgoltjajev.personalcode.locale.estonia.EstonianPersonalCodeParser;
+import com.github.vladislavgoltjajev.personalcode.locale.estonia.EstonianPersonalCodeValidator;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParsedPersonalCodeTest {
+
+    private static final String DIGITS = "0123456789";
+    private static final String NOISE = "0123456789 -+aZ\u0663\u0000";
+
+    private final EstonianPersonalCodeValidator libraryValidator = new EstonianPersonalCodeValidator();
+    private final EstonianPersonalCodeParser libraryParser = new EstonianPersonalCodeParser();
+
+    @Test
+    void givenKnownCodes_whenParse_thenReadsDateAndSegment() throws Exception {
+        ParsedPersonalCode parsed = ParsedPersonalCode.parse("38411266610");
+
+        assertTrue(parsed.isValid());
+        assertEquals(3, parsed.getCenturyIndicator());
+        assertEquals(LocalDate.of(1984, 11, 26).toEpochDay(), parsed.getBirthEpochDay());
+        assertEquals(6610, parsed.getSegment());
+
+        assertFalse(ParsedPersonalCode.parse("12345678901").isValid());
+        assertFalse(ParsedPersonalCode.parse(null).isValid());
+        assertFalse(ParsedPersonalCode.parse("").isValid());
+    }
+
+    /**
+     * Codes with a plausible layout and a random check digit, so about one in ten passes the checksum and
+     * the date rules, leap years included, are exercised on every century indicator.
+     */
+    @Test
+    void givenRandomWellFormedCodes_whenParse_thenAgreesWithLibrary() throws Exception {
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder code = new StringBuilder(11)
+                    .append(random.nextInt(10))
+                    .append(pad(random.nextInt(100)))
+                    .append(pad(random.nextInt(14)))
+                    .append(pad(random.nextInt(33)));
+            for (int j = 0; j < 4; j++) {
+                code.append(DIGITS.charAt(random.nextInt(10)));
+            }
+            assertAgreesWithLibrary(code.toString());
+        }
+    }
+
+    /**
+     * Random strings of random length, mixing digits with separators, letters and non-ASCII digits.
+     */
+    @Test
+    void givenRandomNoise_whenParse_thenAgreesWithLibrary() throws Exception {
+        Random random = new Random(12);
+        for (int i = 0; i < 200_000; i++) {
+            int length = random.nextInt(10) < 8 ? 11 : random.nextInt(14);
+            String alphabet = random.nextBoolean() ? DIGITS : NOISE;
+            StringBuilder code = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                code.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertAgreesWithLibrary(code.toString());
+        }
+    }
+
+    private void assertAgreesWithLibrary(String code) throws Exception {
+        ParsedPersonalCode parsed = ParsedPersonalCode.parse(code);
+        boolean expected = libraryValidator.isValid(code);
+
+        assertEquals(expected, parsed.isValid(), code);
+        if (expected) {
+            assertEquals(libraryParser.getDateOfBirth(code).toEpochDay(), parsed.getBirthEpochDay(), code);
+            assertEquals(Integer.parseInt(code.substring(7)), parsed.getSegment(), code);
+            assertEquals(Character.getNumericValue(code.charAt(0)), parsed.getCenturyIndicator(), code);
+        }
+    }
+
+    private static String pad(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
+    }
+}
@@ -0,0 +1,74 @@
+package ee.taltech.inbankbackend.warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the service with the warm-up and the journal on. Output is captured from before the context
+ * starts, so audit events written during the warm-up would show up in it.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "decision.warm-up.enabled=true",
+    "decision.warm-up.max-duration=PT3S",
+    "decision.journal.enabled=true"
+})
+class WarmUpRunnerTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("decision.journal.directory", journalDirectory::toString);
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void givenWarmUpEnabled_whenStarted_thenSentRequestsBeforeReadyWithoutRecordingThem(CapturedOutput output) {
+        double requests = meterRegistry.get("decision.warm-up.requests").gauge().value();
+
+        assertTrue(requests > 0);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertEquals(0, meterRegistry.get("decision.outcomes").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+        assertEquals(0, meterRegistry.get("decision.errors").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+        assertEquals(0, meterRegistry.get("decision.validation").timer().count());
+        assertEquals(0, meterRegistry.get("decision.journal.records").counter().count());
+        assertEquals(0, meterRegistry.get("decision.journal.backlog").gauge().value());
+        assertFalse(output.getOut().contains("decision outcome="), "warm-up decisions were audited");
+    }
+
+    @Test
+    void givenWeightedMix_whenRequestMix_thenRepeatsEveryKindByWeight() {
+        assertEquals(5, WarmUpRunner.requestMix("approved:3, debt:1,invalid:1").size());
+        assertTrue(WarmUpRunner.requestMix("debt:1").get(0).apply(ThreadLocalRandom.current())
+                .contains("37605030299"));
+        assertThrows(IllegalStateException.class, () -> WarmUpRunner.requestMix("rejected:1"));
+        assertThrows(IllegalStateException.class, () -> WarmUpRunner.requestMix("approved:0"));
+    }
+}